@@ -0,0 +1,38 @@
+package com.SpringBoot.benchmark;
+
+import com.SpringBoot.domain.Anime;
+import com.SpringBoot.mapper.AnimeMapper;
+import com.SpringBoot.request.AnimePostRequestBody;
+import com.SpringBoot.request.AnimePutRequestBody;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnimeMapperBenchmark {
+    private AnimeMapper animeMapper;
+    private AnimePostRequestBody animePostRequestBody;
+    private AnimePutRequestBody animePutRequestBody;
+
+    @Setup
+    public void setUp() {
+        animeMapper = AnimeMapper.INSTANCE;
+        animePostRequestBody = AnimePostRequestBody.builder().name("Hellsing").build();
+        animePutRequestBody = AnimePutRequestBody.builder().id(1L).name("Hellsing Ultimate").build();
+    }
+
+    @Benchmark
+    public Anime toAnimeFromPostRequestBody() {
+        return animeMapper.toAnime(animePostRequestBody);
+    }
+
+    @Benchmark
+    public Anime toAnimeFromPutRequestBody() {
+        return animeMapper.toAnime(animePutRequestBody);
+    }
+}
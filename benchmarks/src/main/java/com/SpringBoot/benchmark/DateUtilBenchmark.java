@@ -0,0 +1,29 @@
+package com.SpringBoot.benchmark;
+
+import com.SpringBoot.util.DateUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DateUtilBenchmark {
+    private DateUtil dateUtil;
+    private LocalDateTime localDateTime;
+
+    @Setup
+    public void setUp() {
+        dateUtil = new DateUtil();
+        localDateTime = LocalDateTime.of(2020, 10, 17, 19, 15, 44);
+    }
+
+    @Benchmark
+    public String formatLocalDateTimeToDataBaseStyle() {
+        return dateUtil.formatLocalDateTimeToDataBaseStyle(localDateTime);
+    }
+}
@@ -0,0 +1,67 @@
+package com.SpringBoot.benchmark;
+
+import com.SpringBoot.controller.AnimeController;
+import com.SpringBoot.exception.BadRequestException;
+import com.SpringBoot.handler.RestExceptionHandler;
+import com.SpringBoot.request.AnimePostRequestBody;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+// Error responses are on the hot path for bad lookups; the *WithNewException variants include the cost of
+// creating the exception itself, which is what a real request pays.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RestExceptionHandlerBenchmark {
+    private RestExceptionHandler restExceptionHandler;
+    private BadRequestException badRequestException;
+    private MethodArgumentNotValidException methodArgumentNotValidException;
+    private WebRequest jsonRequest;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        restExceptionHandler = new RestExceptionHandler(Jackson2ObjectMapperBuilder.json().build());
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+        jsonRequest = new ServletWebRequest(request);
+        badRequestException = new BadRequestException("Anime not Found");
+
+        AnimePostRequestBody body = AnimePostRequestBody.builder().name("").build();
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(body, "animePostRequestBody");
+        bindingResult.addError(new FieldError("animePostRequestBody", "name",
+                "the anime name cannot be Empty or Null"));
+        MethodParameter parameter = new MethodParameter(
+                AnimeController.class.getMethod("save", AnimePostRequestBody.class), 0);
+        methodArgumentNotValidException = new MethodArgumentNotValidException(parameter, bindingResult);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> badRequest() {
+        return restExceptionHandler.handlerBadRequestException(badRequestException, jsonRequest);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> badRequestWithNewException() {
+        return restExceptionHandler.handlerBadRequestException(new BadRequestException("Anime not Found"), jsonRequest);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> methodArgumentNotValid() throws Exception {
+        return restExceptionHandler.handleException(methodArgumentNotValidException, jsonRequest);
+    }
+}
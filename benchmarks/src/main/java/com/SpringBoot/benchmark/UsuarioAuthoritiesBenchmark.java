@@ -0,0 +1,34 @@
+package com.SpringBoot.benchmark;
+
+import com.SpringBoot.domain.UsuarioP;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+// getAuthorities() splits the stored string on every call and runs once per authenticated request.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UsuarioAuthoritiesBenchmark {
+    private UsuarioP usuario;
+
+    @Setup
+    public void setUp() {
+        usuario = UsuarioP.builder()
+                .id(1L)
+                .name("kell")
+                .userName("kell")
+                .authorities("ROLE_USER,ROLE_ADMIN")
+                .build();
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return usuario.getAuthorities();
+    }
+}
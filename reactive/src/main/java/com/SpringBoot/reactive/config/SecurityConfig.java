@@ -0,0 +1,46 @@
+package com.SpringBoot.reactive.config;
+
+import com.SpringBoot.reactive.service.UsuarioDetailsService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.MapReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+
+// Same users and roles as the servlet application. The password check itself runs on boundedElastic, never on
+// the event loop.
+@EnableWebFluxSecurity
+public class SecurityConfig {
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        return http.csrf().disable()
+                .authorizeExchange()
+                .pathMatchers("/animes/**").hasRole("USER")
+                .anyExchange().authenticated()
+                .and()
+                .httpBasic()
+                .and()
+                .build();
+    }
+
+    @Bean
+    public ReactiveUserDetailsService reactiveUserDetailsService(UsuarioDetailsService usuarioDetailsService) {
+        PasswordEncoder passwordEncoder = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+        MapReactiveUserDetailsService inMemoryUsers = new MapReactiveUserDetailsService(
+                User.withUsername("kell")
+                        .password(passwordEncoder.encode("2233"))
+                        .roles("USER", "ADMIN")
+                        .build(),
+                User.withUsername("Pessoa generica para teste")
+                        .password(passwordEncoder.encode("5555"))
+                        .roles("USER")
+                        .build());
+        return username -> inMemoryUsers.findByUsername(username)
+                .switchIfEmpty(usuarioDetailsService.findByUserName(username));
+    }
+}
@@ -0,0 +1,80 @@
+package com.SpringBoot.reactive.controller;
+
+import com.SpringBoot.reactive.domain.Anime;
+import com.SpringBoot.reactive.exception.BadRequestException;
+import com.SpringBoot.reactive.repository.AnimeRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.core.DatabaseClient;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.UncheckedIOException;
+
+@RestController
+@RequestMapping("animes")
+@RequiredArgsConstructor
+public class AnimeController {
+    private final AnimeRepository animeRepository;
+    private final DatabaseClient databaseClient;
+    private final ObjectMapper objectMapper;
+
+    @GetMapping
+    public Mono<Page<Anime>> list(Pageable pageable) {
+        return databaseClient.select()
+                .from(Anime.class)
+                .orderBy(pageable.getSort())
+                .page(pageable)
+                .fetch()
+                .all()
+                .collectList()
+                .zipWith(animeRepository.count())
+                .map(contentAndTotal -> new PageImpl<>(contentAndTotal.getT1(), pageable, contentAndTotal.getT2()));
+    }
+
+    // Jackson would collect a Flux into a list before writing application/json, so the array is framed by hand:
+    // each row is encoded and written as the client reads, and a slow client slows the query instead of the heap.
+    @GetMapping(path = "/all")
+    public Mono<Void> listAll(ServerHttpResponse response) {
+        DataBufferFactory bufferFactory = response.bufferFactory();
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        Flux<DataBuffer> body = animeRepository.findAll()
+                .index()
+                .map(indexed -> encode(bufferFactory, indexed.getT1() == 0 ? '[' : ',', indexed.getT2()))
+                .switchIfEmpty(Mono.fromSupplier(() -> bufferFactory.wrap(new byte[]{'['})))
+                .concatWith(Mono.fromSupplier(() -> bufferFactory.wrap(new byte[]{']'})));
+        return response.writeWith(body);
+    }
+
+    @GetMapping(path = "/{id}")
+    public Mono<Anime> findById(@PathVariable long id) {
+        return animeRepository.findById(id)
+                .switchIfEmpty(Mono.defer(() -> Mono.error(new BadRequestException("Anime not Found"))));
+    }
+
+    @GetMapping(path = "/find")
+    public Flux<Anime> findByName(@RequestParam String name) {
+        return animeRepository.findByName(name);
+    }
+
+    private DataBuffer encode(DataBufferFactory bufferFactory, char separator, Anime anime) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(anime);
+            DataBuffer buffer = bufferFactory.allocateBuffer(json.length + 1);
+            buffer.write((byte) separator);
+            buffer.write(json);
+            return buffer;
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.SpringBoot.reactive.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+// Read-only view of the anime table; the servlet application's JPA entity owns the schema.
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table("anime")
+public class Anime {
+    @Id
+    private Long id;
+    private String name;
+    private Long version;
+    @JsonIgnore
+    @Column("search_name")
+    private String searchName;
+}
@@ -0,0 +1,17 @@
+package com.SpringBoot.reactive.exception;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// Same fields as the servlet application's error body, so clients parse both stacks the same way.
+@Getter
+@Builder
+public class BadRequestExceptionDetails {
+    private final String title;
+    private final int status;
+    private final String details;
+    private final String developerMessage;
+    private final LocalDateTime timestamp;
+}
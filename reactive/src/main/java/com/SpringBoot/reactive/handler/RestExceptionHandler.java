@@ -0,0 +1,23 @@
+package com.SpringBoot.reactive.handler;
+
+import com.SpringBoot.reactive.exception.BadRequestException;
+import com.SpringBoot.reactive.exception.BadRequestExceptionDetails;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import java.time.LocalDateTime;
+
+@ControllerAdvice
+public class RestExceptionHandler {
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<BadRequestExceptionDetails> handlerBadRequestException(BadRequestException bre) {
+        return new ResponseEntity<>(BadRequestExceptionDetails.builder().timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .title("Bad request exception, Check the documentation")
+                .details(bre.getMessage())
+                .developerMessage(bre.getClass().getName())
+                .build(), HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,9 @@
+package com.SpringBoot.reactive.repository;
+
+import com.SpringBoot.reactive.domain.Anime;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+
+public interface AnimeRepository extends ReactiveCrudRepository<Anime, Long> {
+    Flux<Anime> findByName(String name);
+}
@@ -0,0 +1,25 @@
+package com.SpringBoot.reactive.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.r2dbc.core.DatabaseClient;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+@Service
+@RequiredArgsConstructor
+// Not a ReactiveUserDetailsService bean itself: SecurityConfig combines it with the in-memory users into the only one.
+public class UsuarioDetailsService {
+    private final DatabaseClient databaseClient;
+
+    public Mono<UserDetails> findByUserName(String username) {
+        return databaseClient.execute("select user_name, password, authorities from usuario_p where user_name = :userName")
+                .bind("userName", username)
+                .map((row, metadata) -> User.withUsername(row.get("user_name", String.class))
+                        .password(row.get("password", String.class))
+                        .authorities(row.get("authorities", String.class).split(","))
+                        .build())
+                .first();
+    }
+}
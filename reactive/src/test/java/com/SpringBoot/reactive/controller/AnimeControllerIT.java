@@ -0,0 +1,101 @@
+package com.SpringBoot.reactive.controller;
+
+import com.SpringBoot.reactive.domain.Anime;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.r2dbc.core.DatabaseClient;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.mockUser;
+
+@SpringBootTest(properties = "spring.r2dbc.url=r2dbc:h2:mem:///anime?options=DB_CLOSE_DELAY=-1;MODE=MySQL")
+@AutoConfigureWebTestClient
+class AnimeControllerIT {
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void setUp() {
+        databaseClient.execute("create table if not exists anime (id bigint primary key, name varchar(255), "
+                + "version bigint, search_name varchar(255))").then()
+                .then(databaseClient.execute("delete from anime").then())
+                .then(databaseClient.execute("insert into anime (id, name, version, search_name) values "
+                        + "(1, 'Hellsing', 0, 'hellsing'), (2, 'Overlord', 3, 'overlord')").then())
+                .block();
+    }
+
+    @Test
+    @DisplayName("findById returns the same JSON shape as the servlet API when successful")
+    void findById_ReturnsAnime_WhenSuccessful() {
+        webTestClient.mutateWith(mockUser().roles("USER"))
+                .get().uri("/animes/{id}", 2)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(2)
+                .jsonPath("$.name").isEqualTo("Overlord")
+                .jsonPath("$.version").isEqualTo(3)
+                .jsonPath("$.searchName").doesNotExist();
+    }
+
+    @Test
+    @DisplayName("findById returns bad request when anime is not found")
+    void findById_ReturnsBadRequest_WhenAnimeIsNotFound() {
+        webTestClient.mutateWith(mockUser().roles("USER"))
+                .get().uri("/animes/{id}", 99)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.details").isEqualTo("Anime not Found");
+    }
+
+    @Test
+    @DisplayName("listAll streams every anime as a JSON array when successful")
+    void listAll_StreamsJsonArray_WhenSuccessful() {
+        List<Anime> animes = webTestClient.mutateWith(mockUser().roles("USER"))
+                .get().uri("/animes/all")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBodyList(Anime.class)
+                .returnResult()
+                .getResponseBody();
+
+        Assertions.assertThat(animes)
+                .extracting(Anime::getName)
+                .containsExactlyInAnyOrder("Hellsing", "Overlord");
+    }
+
+    @Test
+    @DisplayName("list returns a page object when successful")
+    void list_ReturnsPage_WhenSuccessful() {
+        webTestClient.mutateWith(mockUser().roles("USER"))
+                .get().uri("/animes?size=1&sort=id")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(1)
+                .jsonPath("$.content[0].name").isEqualTo("Hellsing")
+                .jsonPath("$.totalElements").isEqualTo(2)
+                .jsonPath("$.totalPages").isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("list returns unauthorized without credentials")
+    void list_ReturnsUnauthorized_WithoutCredentials() {
+        webTestClient.get().uri("/animes")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+}
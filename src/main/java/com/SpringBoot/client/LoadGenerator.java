@@ -0,0 +1,236 @@
+package com.SpringBoot.client;
+
+import com.SpringBoot.domain.Anime;
+import com.SpringBoot.request.AnimePostRequestBody;
+import com.SpringBoot.request.AnimePutRequestBody;
+import com.SpringBoot.wrapper.PageableResponse;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.HdrHistogram.Histogram;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: request n is due at {@code start + n / rate} no matter how long earlier requests
+ * took, and its latency is measured from that due time. A stalled server therefore shows up as queueing in the
+ * histogram instead of silently lowering the offered load (coordinated omission).
+ */
+@Log4j2
+public class LoadGenerator {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final ParameterizedTypeReference<PageableResponse<Anime>> PAGE_TYPE = new ParameterizedTypeReference<>() {
+    };
+
+    public enum Operation {
+        LIST, FIND_BY_ID, FIND_BY_NAME, SAVE, REPLACE, DELETE
+    }
+
+    @Getter
+    @Builder
+    public static class Settings {
+        private final int ratePerSecond;
+        private final Duration duration;
+        private final Duration warmup;
+        private final int workers;
+        private final int seedAnimes;
+        private final Map<Operation, Integer> mix;
+        private final HttpHeaders headers;
+    }
+
+    private final RestTemplate restTemplate;
+    private final Settings settings;
+    private final Operation[] schedule;
+    private final List<Long> seededIds = new ArrayList<>();
+    private final ConcurrentLinkedQueue<Long> createdIds = new ConcurrentLinkedQueue<>();
+
+    public LoadGenerator(RestTemplate restTemplate, Settings settings) {
+        if (settings.getRatePerSecond() <= 0) {
+            throw new IllegalArgumentException("--rate must be a positive number of requests per second, got "
+                    + settings.getRatePerSecond());
+        }
+        this.restTemplate = restTemplate;
+        this.settings = settings;
+        this.schedule = expandMix(settings.getMix());
+    }
+
+    public Map<Operation, Result> run() throws InterruptedException {
+        seed();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.getRatePerSecond();
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        long measureFrom = start + settings.getWarmup().toNanos();
+        long end = measureFrom + settings.getDuration().toNanos();
+        AtomicLong sequence = new AtomicLong();
+
+        ExecutorService pool = Executors.newFixedThreadPool(settings.getWorkers());
+        List<Future<Map<Operation, Result>>> workers = new ArrayList<>();
+        for (int i = 0; i < settings.getWorkers(); i++) {
+            workers.add(pool.submit(() -> work(sequence, start, intervalNanos, measureFrom, end)));
+        }
+        pool.shutdown();
+
+        Map<Operation, Result> total = new EnumMap<>(Operation.class);
+        for (Future<Map<Operation, Result>> worker : workers) {
+            try {
+                worker.get().forEach((operation, result) ->
+                        total.computeIfAbsent(operation, o -> new Result()).add(result));
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Load worker failed", e.getCause());
+            }
+        }
+        return total;
+    }
+
+    // Each worker keeps its own histograms, so recording never contends; they are merged once at the end.
+    private Map<Operation, Result> work(AtomicLong sequence, long start, long intervalNanos, long measureFrom, long end) {
+        Map<Operation, Result> results = new EnumMap<>(Operation.class);
+        while (true) {
+            long n = sequence.getAndIncrement();
+            long due = start + n * intervalNanos;
+            if (due >= end) {
+                return results;
+            }
+            waitUntil(due);
+            Operation operation = schedule[(int) (n % schedule.length)];
+            boolean ok = execute(operation);
+            long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - due);
+            if (due >= measureFrom) {
+                results.computeIfAbsent(operation, o -> new Result()).record(latencyMicros, ok);
+            }
+        }
+    }
+
+    private boolean execute(Operation operation) {
+        try {
+            switch (operation) {
+                case LIST:
+                    restTemplate.exchange("/animes?page={page}&size=20", HttpMethod.GET, request(null), PAGE_TYPE,
+                            ThreadLocalRandom.current().nextInt(Math.max(1, settings.getSeedAnimes() / 20)));
+                    return true;
+                case FIND_BY_ID:
+                    restTemplate.exchange("/animes/{id}", HttpMethod.GET, request(null), Anime.class, randomSeededId());
+                    return true;
+                case FIND_BY_NAME:
+                    restTemplate.exchange("/animes/find?name={name}", HttpMethod.GET, request(null), Anime[].class,
+                            "load-" + ThreadLocalRandom.current().nextInt(settings.getSeedAnimes()));
+                    return true;
+                case SAVE:
+                    Anime saved = restTemplate.exchange("/animes", HttpMethod.POST,
+                            request(new AnimePostRequestBody("load-created-" + System.nanoTime())), Anime.class).getBody();
+                    if (saved != null) {
+                        createdIds.add(saved.getId());
+                    }
+                    return true;
+                case REPLACE:
+                    long id = randomSeededId();
+                    restTemplate.exchange("/animes", HttpMethod.PUT,
+                            request(new AnimePutRequestBody(id, "load-" + id)), Void.class);
+                    return true;
+                case DELETE:
+                    // Only animes created by this run are deleted, so the seeded set stays intact for reads.
+                    Long createdId = createdIds.poll();
+                    if (createdId == null) {
+                        return execute(Operation.FIND_BY_ID);
+                    }
+                    restTemplate.exchange("/animes/admin/{id}", HttpMethod.DELETE, request(null), Void.class, createdId);
+                    return true;
+                default:
+                    throw new IllegalArgumentException("Unknown operation " + operation);
+            }
+        } catch (RestClientException e) {
+            log.debug("{} failed: {}", operation, e.getMessage());
+            return false;
+        }
+    }
+
+    private void seed() {
+        for (int i = 0; i < settings.getSeedAnimes(); i++) {
+            Anime anime = restTemplate.exchange("/animes", HttpMethod.POST,
+                    request(new AnimePostRequestBody("load-" + i)), Anime.class).getBody();
+            if (anime != null) {
+                seededIds.add(anime.getId());
+            }
+        }
+        if (seededIds.isEmpty()) {
+            throw new IllegalStateException("Could not seed any anime, is the application running?");
+        }
+        log.info("Seeded {} animes", seededIds.size());
+    }
+
+    private long randomSeededId() {
+        return seededIds.get(ThreadLocalRandom.current().nextInt(seededIds.size()));
+    }
+
+    private <T> HttpEntity<T> request(T body) {
+        return new HttpEntity<>(body, settings.getHeaders());
+    }
+
+    private static void waitUntil(long due) {
+        long remaining;
+        while ((remaining = due - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    // Interleaves operations by weight so every stretch of the run sees the same mix.
+    private static Operation[] expandMix(Map<Operation, Integer> mix) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        if (total <= 0) {
+            throw new IllegalArgumentException("The operation mix needs at least one positive weight");
+        }
+        Operation[] schedule = new Operation[total];
+        Map<Operation, Integer> placed = new EnumMap<>(Operation.class);
+        for (int slot = 0; slot < total; slot++) {
+            Operation next = null;
+            double mostBehind = Double.NEGATIVE_INFINITY;
+            for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+                double behind = (slot + 1) * (double) entry.getValue() / total - placed.getOrDefault(entry.getKey(), 0);
+                if (entry.getValue() > 0 && behind > mostBehind) {
+                    mostBehind = behind;
+                    next = entry.getKey();
+                }
+            }
+            schedule[slot] = next;
+            placed.merge(next, 1, Integer::sum);
+        }
+        return schedule;
+    }
+
+    public static class Result {
+        @Getter
+        private final Histogram histogram = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        @Getter
+        private long errors;
+
+        void record(long latencyMicros, boolean ok) {
+            histogram.recordValue(Math.min(latencyMicros, HIGHEST_TRACKABLE_MICROS));
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        void add(Result other) {
+            histogram.add(other.histogram);
+            errors += other.errors;
+        }
+    }
+}
@@ -1,70 +1,139 @@
 package com.SpringBoot.client;
 
-import com.SpringBoot.domain.Anime;
+import com.SpringBoot.client.LoadGenerator.Operation;
+import com.SpringBoot.client.LoadGenerator.Result;
+import com.SpringBoot.config.WireFormatConfig;
+import com.SpringBoot.request.LoginRequestBody;
+import com.SpringBoot.response.TokenResponse;
 import lombok.extern.log4j.Log4j2;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.*;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.Arrays;
-import java.util.List;
-
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Drives a running instance with a weighted mix of the CRUD endpoints at a fixed request rate and prints
+ * throughput and latency percentiles per operation. Start the application with the {@code local} profile
+ * (in-memory H2) and run, for example:
+ *
+ * <pre>
+ * --url=http://localhost:8080 --rate=500 --duration=60s --warmup=10s --workers=64
+ * --mix=LIST:30,FIND_BY_ID:40,FIND_BY_NAME:10,SAVE:10,REPLACE:5,DELETE:5 --auth=token --format=json
+ * </pre>
+ */
 @Log4j2
 public class SpringClient {
-    public static void main(String[] args) {
-        ResponseEntity<Anime> entity = new RestTemplate().getForEntity("http://localhost:8080/animes/{id}", Anime.class, 2);
-        log.info(entity);
-
-        Anime object = new RestTemplate().getForObject("http://localhost:8080/animes/{id}", Anime.class, 2);
-
-        log.info(object);
-
-        Anime[] animes = new RestTemplate().getForObject("http://localhost:8080/animes/all", Anime[].class);
-
-        log.info(Arrays.toString(animes));
-        //@formatter:off
-        ResponseEntity<List<Anime>> exchange = new RestTemplate().exchange("http://localhost:8080/animes/all",
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<>() {
-                });
-        //@formatter:on
-        log.info(exchange.getBody());
-
-//        Anime kingdom = Anime.builder().name("kingdom").build();
-//        Anime kingdomSaved = new RestTemplate().postForObject("http://localhost:8080/animes/", kingdom, Anime.class);
-//        log.info("saved anime {}", kingdomSaved);
-
-        Anime samuraiChamploo = Anime.builder().name("Samurai Champloo").build();
-        ResponseEntity<Anime> samuraiChamplooSaved = new RestTemplate().exchange("http://localhost:8080/animes/",
-                HttpMethod.POST,
-                new HttpEntity<>(samuraiChamploo, createJsonHeader()),
-                Anime.class);
+    private static final String DEFAULT_MIX = "LIST:30,FIND_BY_ID:40,FIND_BY_NAME:10,SAVE:10,REPLACE:5,DELETE:5";
+
+    public static void main(String[] args) throws InterruptedException {
+        SimpleCommandLinePropertySource options = new SimpleCommandLinePropertySource(args);
+        String url = option(options, "url", "http://localhost:8080");
+        String username = option(options, "user", "kell");
+        String password = option(options, "password", "2233");
+        int workers = Integer.parseInt(option(options, "workers", "32"));
+
+        // HttpURLConnection keeps only five idle connections per host by default, far fewer than the workers
+        System.setProperty("http.maxConnections", String.valueOf(workers));
+
+        RestTemplate restTemplate = new RestTemplateBuilder().rootUri(url).build();
+        HttpHeaders headers = createHeaders(option(options, "format", "json"));
+        if ("token".equalsIgnoreCase(option(options, "auth", "basic"))) {
+            TokenResponse token = restTemplate.postForObject("/auth/login",
+                    new LoginRequestBody(username, password), TokenResponse.class);
+            headers.setBearerAuth(token.getToken());
+        } else {
+            headers.setBasicAuth(username, password);
+        }
+
+        LoadGenerator.Settings settings = LoadGenerator.Settings.builder()
+                .ratePerSecond(Integer.parseInt(option(options, "rate", "200")))
+                .duration(parseDuration(option(options, "duration", "30s")))
+                .warmup(parseDuration(option(options, "warmup", "5s")))
+                .workers(workers)
+                .seedAnimes(Integer.parseInt(option(options, "seed", "200")))
+                .mix(parseMix(option(options, "mix", DEFAULT_MIX)))
+                .headers(headers)
+                .build();
+
+        log.info("Offering {} req/s for {} after {} warmup with {} workers against {}", settings.getRatePerSecond(),
+                settings.getDuration(), settings.getWarmup(), workers, url);
+        Map<Operation, Result> results = new LoadGenerator(restTemplate, settings).run();
+        report(results, settings.getDuration());
+    }
 
-        log.info("saved anime {}", samuraiChamplooSaved);
+    private static void report(Map<Operation, Result> results, Duration duration) {
+        Histogram all = new Histogram(3);
+        long errors = 0;
+        log.info(String.format(Locale.ROOT, "%-13s %9s %7s %10s %10s %10s %10s", "operation", "count", "errors",
+                "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        for (Map.Entry<Operation, Result> entry : results.entrySet()) {
+            Histogram histogram = entry.getValue().getHistogram();
+            all.add(histogram);
+            errors += entry.getValue().getErrors();
+            log.info(line(entry.getKey().name(), histogram, entry.getValue().getErrors()));
+        }
+        log.info(line("ALL", all, errors));
+        log.info(String.format(Locale.ROOT, "throughput %.1f req/s", all.getTotalCount() / (double) duration.toMillis() * 1000));
+    }
 
-        Anime animeToBeUpdated = samuraiChamplooSaved.getBody();
-        animeToBeUpdated.setName("Samurai Champloo 2");
+    private static String line(String name, Histogram histogram, long errors) {
+        return String.format(Locale.ROOT, "%-13s %9d %7d %10.2f %10.2f %10.2f %10.2f", name, histogram.getTotalCount(),
+                errors, millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+    }
 
-        ResponseEntity<Void> samuraiChamplooUpdated = new RestTemplate().exchange("http://localhost:8080/animes/",
-                HttpMethod.PUT,
-                new HttpEntity<>(animeToBeUpdated, createJsonHeader()),
-                Void.class);
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
 
-        log.info(samuraiChamplooUpdated);
+    private static String option(SimpleCommandLinePropertySource options, String name, String defaultValue) {
+        String value = options.getProperty(name);
+        return value == null ? defaultValue : value;
+    }
 
-        ResponseEntity<Void> samuraiChamplooDeleted = new RestTemplate().exchange("http://localhost:8080/animes/{id}",
-                HttpMethod.DELETE,
-                null,
-                Void.class,
-                animeToBeUpdated.getId());
+    // Accepts 30s, 2m, 500ms or an ISO-8601 duration such as PT1M.
+    // ISO-8601 first, so "PT1M" is not read as a number of minutes
+    private static Duration parseDuration(String value) {
+        String lower = value.toLowerCase(Locale.ROOT);
+        if (lower.startsWith("p")) {
+            return Duration.parse(value.toUpperCase(Locale.ROOT));
+        }
+        if (lower.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(lower.substring(0, lower.length() - 2)));
+        }
+        if (lower.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(lower.substring(0, lower.length() - 1)));
+        }
+        if (lower.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(lower.substring(0, lower.length() - 1)));
+        }
+        return Duration.parse(value);
+    }
 
-        log.info(samuraiChamplooDeleted);
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : value.split(",")) {
+            String[] weight = part.trim().split(":");
+            mix.put(Operation.valueOf(weight[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(weight[1].trim()));
+        }
+        return mix;
     }
 
-    private static HttpHeaders createJsonHeader() {
+    private static HttpHeaders createHeaders(String format) {
+        MediaType mediaType = "smile".equalsIgnoreCase(format) ? WireFormatConfig.APPLICATION_SMILE
+                : "cbor".equalsIgnoreCase(format) ? WireFormatConfig.APPLICATION_CBOR
+                : MediaType.APPLICATION_JSON;
         HttpHeaders httpHeaders = new HttpHeaders();
-        httpHeaders.setContentType(MediaType.APPLICATION_JSON);
+        httpHeaders.setContentType(mediaType);
+        httpHeaders.setAccept(Collections.singletonList(mediaType));
         return httpHeaders;
     }
 }
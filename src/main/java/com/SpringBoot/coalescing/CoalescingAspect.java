@@ -0,0 +1,59 @@
+package com.SpringBoot.coalescing;
+
+import com.SpringBoot.datasource.PrimaryReads;
+import com.SpringBoot.datasource.ReadYourWrites;
+import com.SpringBoot.util.SingleFlight;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Outermost advice, so one flight covers the cache lookup, the transaction and the query together.
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CoalescingAspect {
+    private final SingleFlight<List<Object>> singleFlight = new SingleFlight<>();
+    private final ObjectProvider<ReadYourWrites> readYourWrites;
+    private final Counter shared;
+
+    public CoalescingAspect(ObjectProvider<ReadYourWrites> readYourWrites, MeterRegistry meterRegistry) {
+        this.readYourWrites = readYourWrites;
+        this.shared = Counter.builder("anime.coalesced")
+                .description("Calls answered by joining an identical call already in flight")
+                .register(meterRegistry);
+        meterRegistry.gauge("anime.coalesced.in.flight", singleFlight, SingleFlight::inFlight);
+    }
+
+    @Around("@annotation(com.SpringBoot.coalescing.Coalesced)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (mustRunAlone()) {
+            return joinPoint.proceed();
+        }
+        List<Object> key = new ArrayList<>(joinPoint.getArgs().length + 1);
+        key.add(((MethodSignature) joinPoint.getSignature()).getMethod());
+        key.addAll(Arrays.asList(joinPoint.getArgs()));
+        return singleFlight.execute(key, joinPoint::proceed, shared::increment);
+    }
+
+    // A caller inside a transaction may need its own uncommitted writes, and one pinned to the primary must not be
+    // handed the result of a replica read, so neither joins nor leads a shared flight
+    private boolean mustRunAlone() {
+        if (TransactionSynchronizationManager.isActualTransactionActive() || PrimaryReads.isActive()) {
+            return true;
+        }
+        ReadYourWrites sticky = readYourWrites.getIfAvailable();
+        return sticky != null && sticky.isSticky();
+    }
+}
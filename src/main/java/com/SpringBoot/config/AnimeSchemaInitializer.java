@@ -0,0 +1,47 @@
+package com.SpringBoot.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Runs once Hibernate has updated the schema and before any request can insert an anime.
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Log4j2
+public class AnimeSchemaInitializer implements InitializingBean {
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterPropertiesSet() {
+        alignAnimeSequence();
+        backfillSearchNames();
+        backfillVersions();
+    }
+
+    // Rows inserted while anime.id was AUTO_INCREMENT must never be handed out again by the pooled allocator.
+    private void alignAnimeSequence() {
+        Long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from anime", Long.class);
+        int updated = jdbcTemplate.update("update anime_seq set next_val = ? where next_val <= ?", maxId + 1, maxId);
+        if (updated > 0) {
+            log.info("anime_seq moved past existing anime id {}", maxId);
+        }
+    }
+
+    private void backfillSearchNames() {
+        int updated = jdbcTemplate.update("update anime set search_name = lower(trim(name)) where search_name is null and name is not null");
+        if (updated > 0) {
+            log.info("Backfilled search_name for {} animes", updated);
+        }
+    }
+
+    private void backfillVersions() {
+        int updated = jdbcTemplate.update("update anime set version = 0 where version is null");
+        if (updated > 0) {
+            log.info("Backfilled version for {} animes", updated);
+        }
+    }
+}
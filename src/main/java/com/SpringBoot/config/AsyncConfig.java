@@ -0,0 +1,36 @@
+package com.SpringBoot.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AsyncConfig {
+    public static final String ANIME_DB_EXECUTOR = "animeDbExecutor";
+
+    // One thread per pooled connection: more threads would only wait on Hikari, fewer would leave connections idle.
+    // A full queue rejects immediately instead of parking more work behind a slow database.
+    @Bean(name = ANIME_DB_EXECUTOR)
+    public ThreadPoolTaskExecutor animeDbExecutor(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                                                  @Value("${anime.async.queue-capacity:100}") int queueCapacity,
+                                                  MeterRegistry meterRegistry) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("anime-db-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+
+        Gauge.builder("anime.db.executor.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("Database tasks running on the async executor")
+                .register(meterRegistry);
+        Gauge.builder("anime.db.executor.queued", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("Database tasks waiting for an async executor thread")
+                .register(meterRegistry);
+        return executor;
+    }
+}
@@ -0,0 +1,34 @@
+package com.SpringBoot.config;
+
+import com.SpringBoot.limit.AdaptiveConcurrencyLimiter;
+import com.SpringBoot.limit.ConcurrencyLimitFilter;
+import com.SpringBoot.limit.ConcurrencyLimitProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@ConditionalOnProperty(name = "anime.concurrency.enabled", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    // Just ahead of Spring Security, so refused requests skip authentication but still show in http.server.requests
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(ConcurrencyLimitProperties properties,
+                                                                                 MeterRegistry meterRegistry,
+                                                                                 ObjectMapper objectMapper) {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(
+                new AdaptiveConcurrencyLimiter("read", properties.getRead(), meterRegistry),
+                new AdaptiveConcurrencyLimiter("write", properties.getWrite(), meterRegistry),
+                objectMapper);
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/animes/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
@@ -1,49 +1,104 @@
 package com.SpringBoot.config;
 
+import com.SpringBoot.security.CachingAuthenticationProvider;
+import com.SpringBoot.security.CredentialCache;
+import com.SpringBoot.security.TokenAuthenticationFilter;
+import com.SpringBoot.security.TokenService;
 import com.SpringBoot.service.UsuarioDetailsService;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.factory.PasswordEncoderFactories;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+
+import java.util.List;
 
 @EnableWebSecurity
 @EnableGlobalMethodSecurity(prePostEnabled = true)
-@RequiredArgsConstructor
 @Log4j2
 public class SecurityConfig extends WebSecurityConfigurerAdapter {
     private final UsuarioDetailsService usuarioDetailsService;
+    private final CredentialCache credentialCache;
+    private final TokenService tokenService;
+    private final boolean stateless;
+
+    public SecurityConfig(UsuarioDetailsService usuarioDetailsService,
+                          CredentialCache credentialCache,
+                          TokenService tokenService,
+                          @Value("${security.stateless.enabled:false}") boolean stateless) {
+        this.usuarioDetailsService = usuarioDetailsService;
+        this.credentialCache = credentialCache;
+        this.tokenService = tokenService;
+        this.stateless = stateless;
+    }
+
     @Override
     protected void configure(AuthenticationManagerBuilder auth) throws Exception {
         PasswordEncoder passwordEncoder = PasswordEncoderFactories.createDelegatingPasswordEncoder();
         log.info("Password encoded {}", passwordEncoder.encode("2233"));
-        auth.inMemoryAuthentication()
-                .withUser("kell")
-                .password(passwordEncoder.encode("2233"))
-                .roles("USER", "ADMIN")
-                .and()
-                .withUser("Pessoa generica para teste")
-                .password(passwordEncoder.encode("5555"))
-                .roles("USER");
-        auth.userDetailsService(usuarioDetailsService).passwordEncoder(passwordEncoder);
+        InMemoryUserDetailsManager inMemoryUsers = new InMemoryUserDetailsManager(
+                User.withUsername("kell")
+                        .password(passwordEncoder.encode("2233"))
+                        .roles("USER", "ADMIN")
+                        .build(),
+                User.withUsername("Pessoa generica para teste")
+                        .password(passwordEncoder.encode("5555"))
+                        .roles("USER")
+                        .build());
+        ProviderManager passwordCheck = new ProviderManager(List.of(
+                daoAuthenticationProvider(inMemoryUsers, passwordEncoder),
+                daoAuthenticationProvider(usuarioDetailsService, passwordEncoder)));
+        auth.authenticationProvider(new CachingAuthenticationProvider(passwordCheck, credentialCache));
+    }
+
+    @Bean
+    @Override
+    public AuthenticationManager authenticationManagerBean() throws Exception {
+        return super.authenticationManagerBean();
     }
 
     @Override
     protected void configure(HttpSecurity http) throws Exception {
         http.csrf()
                 .disable()
+                .addFilterBefore(new TokenAuthenticationFilter(tokenService), BasicAuthenticationFilter.class)
                 .authorizeRequests()
+                .antMatchers(HttpMethod.POST, "/auth/login").permitAll()
+                .antMatchers("/actuator/health").permitAll()
+                .antMatchers("/actuator/**").hasRole("ADMIN")
                 .antMatchers("/animes/admin/**").hasRole("ADMIN")
                 .antMatchers("/animes/**").hasRole("USER")
                 .anyRequest()
-                .authenticated()
-                .and()
-                .formLogin()
-                .and()
-                .httpBasic();
+                .authenticated();
+
+        if (stateless) {
+            http.sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS);
+        } else {
+            http.formLogin();
+        }
+        http.httpBasic();
+    }
+
+    private static AuthenticationProvider daoAuthenticationProvider(UserDetailsService userDetailsService,
+                                                                    PasswordEncoder passwordEncoder) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
+        return provider;
     }
 }
@@ -0,0 +1,78 @@
+package com.SpringBoot.controller;
+
+import com.SpringBoot.config.AsyncConfig;
+import com.SpringBoot.datasource.ReadYourWrites;
+import com.SpringBoot.domain.Anime;
+import com.SpringBoot.request.AnimePostRequestBody;
+import com.SpringBoot.service.AnimeService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Same operations as AnimeController, but the JDBC work runs on the bounded animeDbExecutor so a slow database
+// holds executor threads instead of Tomcat's. A full executor answers 503 at once; a call over the timeout answers 503.
+@RestController
+@RequestMapping("animes/async")
+public class AnimeAsyncController {
+    private final AnimeService animeService;
+    private final Executor executor;
+    private final long timeoutMillis;
+    private final ObjectProvider<ReadYourWrites> readYourWrites;
+
+    public AnimeAsyncController(AnimeService animeService,
+                                @Qualifier(AsyncConfig.ANIME_DB_EXECUTOR) Executor executor,
+                                @Value("${anime.async.timeout:5s}") Duration timeout,
+                                ObjectProvider<ReadYourWrites> readYourWrites) {
+        this.animeService = animeService;
+        this.executor = executor;
+        this.timeoutMillis = timeout.toMillis();
+        this.readYourWrites = readYourWrites;
+    }
+
+    @GetMapping
+    public CompletableFuture<ResponseEntity<Page<Anime>>> list(Pageable pageable) {
+        return submit(() -> ResponseEntity.ok(animeService.listAll(pageable)));
+    }
+
+    @GetMapping(path = "/all")
+    public CompletableFuture<ResponseEntity<List<Anime>>> listAll() {
+        return submit(() -> ResponseEntity.ok(animeService.listAllNonPageable()));
+    }
+
+    @GetMapping(path = "/{id}")
+    public CompletableFuture<ResponseEntity<Anime>> findById(@PathVariable long id) {
+        return submit(() -> ResponseEntity.ok(animeService.findByIdOrThrowBadRequestException(id)));
+    }
+
+    @GetMapping(path = "/find")
+    public CompletableFuture<ResponseEntity<List<Anime>>> findByName(@RequestParam String name) {
+        return submit(() -> ResponseEntity.ok(animeService.findByName(name)));
+    }
+
+    @PostMapping
+    public CompletableFuture<ResponseEntity<Anime>> save(@RequestBody @Valid AnimePostRequestBody anime) {
+        // The executor thread has no request to make sticky, and this request may be complete before the save
+        // commits; marking up front costs a failed save no more than a few extra primary reads
+        readYourWrites.ifAvailable(ReadYourWrites::markWrite);
+        return submit(() -> new ResponseEntity<>(animeService.save(anime), HttpStatus.CREATED));
+    }
+
+    // supplyAsync throws RejectedExecutionException on the request thread when the queue is full; the timeout
+    // only frees the request, the statement itself still finishes on the executor.
+    private <T> CompletableFuture<T> submit(Supplier<T> work) {
+        return CompletableFuture.supplyAsync(work, executor).orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+}
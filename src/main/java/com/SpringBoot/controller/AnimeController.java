@@ -1,22 +1,42 @@
 package com.SpringBoot.controller;
 
+import com.SpringBoot.config.WireFormatConfig;
 import com.SpringBoot.domain.Anime;
+import com.SpringBoot.request.AnimePatchRequestBody;
 import com.SpringBoot.request.AnimePostRequestBody;
 import com.SpringBoot.request.AnimePutRequestBody;
+import com.SpringBoot.response.AnimeSearchHit;
+import com.SpringBoot.response.BulkItemResult;
+import com.SpringBoot.response.CursorPageResponse;
+import com.SpringBoot.response.SliceResponse;
+import com.SpringBoot.service.AnimeBulkService;
 import com.SpringBoot.service.AnimeService;
+import com.SpringBoot.service.AnimeWriteBatcher;
+import com.SpringBoot.util.AnimeCursor;
+import com.SpringBoot.util.AnimeEtag;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.concurrent.TimeoutException;
 
 @RestController
 @RequestMapping("animes")
@@ -24,20 +44,78 @@ import java.util.List;
 @RequiredArgsConstructor
 public class AnimeController {
     private final AnimeService animeService;
+    private final AnimeBulkService animeBulkService;
+    private final AnimeWriteBatcher animeWriteBatcher;
+    private final ObjectMapper objectMapper;
+    private final MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter;
+    private final MappingJackson2CborHttpMessageConverter cborHttpMessageConverter;
 
     @RequestMapping
     public ResponseEntity<Page<Anime>> list(Pageable pageable) {
         return ResponseEntity.ok(animeService.listAll(pageable));
     }
 
+    @GetMapping(path = "/slice")
+    public ResponseEntity<SliceResponse<Anime>> listSlice(Pageable pageable,
+                                                          @RequestParam(defaultValue = "false") boolean withTotal) {
+        return ResponseEntity.ok(animeService.listSlice(pageable, withTotal));
+    }
+
+    @GetMapping(path = "/cursor")
+    public ResponseEntity<CursorPageResponse<Anime>> listByCursor(@RequestParam(required = false) String cursor,
+                                                                  @RequestParam(defaultValue = "ID") AnimeCursor.Sort sort,
+                                                                  @RequestParam(defaultValue = "20") int size) {
+        AnimeCursor animeCursor = cursor == null ? AnimeCursor.first(sort) : AnimeCursor.decode(cursor);
+        return ResponseEntity.ok(animeService.listByCursor(animeCursor, size));
+    }
+
     @RequestMapping(path = "/all")
     public ResponseEntity<List<Anime>> listAll() {
         return ResponseEntity.ok(animeService.listAllNonPageable());
     }
 
+    @GetMapping(path = "/all/stream", produces = {MediaType.APPLICATION_JSON_VALUE,
+            WireFormatConfig.APPLICATION_SMILE_VALUE, WireFormatConfig.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<StreamingResponseBody> streamAll(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        // The streaming body bypasses message converters, so the encoding is negotiated by hand
+        MediaType mediaType = WireFormatConfig.preferredMediaType(accept);
+        ObjectMapper mapper = streamObjectMapper(mediaType);
+        return ResponseEntity.ok().contentType(mediaType).body(outputStream -> {
+            try (JsonGenerator generator = mapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                animeService.streamAll(anime -> {
+                    try {
+                        generator.writeObject(anime);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        });
+    }
+
+    private ObjectMapper streamObjectMapper(MediaType mediaType) {
+        if (WireFormatConfig.APPLICATION_SMILE.equals(mediaType)) {
+            return smileHttpMessageConverter.getObjectMapper();
+        }
+        if (WireFormatConfig.APPLICATION_CBOR.equals(mediaType)) {
+            return cborHttpMessageConverter.getObjectMapper();
+        }
+        return objectMapper;
+    }
+
     @RequestMapping("/{id}")
-    public ResponseEntity<Anime> findById(@PathVariable long id) {
-        return ResponseEntity.ok(animeService.findByIdOrThrowBadRequestException(id));
+    public ResponseEntity<Anime> findById(@PathVariable long id,
+                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            String etag = AnimeEtag.of(id, animeService.findVersionOrThrowBadRequestException(id));
+            if (AnimeEtag.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+        Anime anime = animeService.findByIdOrThrowBadRequestException(id);
+        return ResponseEntity.ok().eTag(AnimeEtag.of(anime)).body(anime);
     }
     @RequestMapping("by-id/{id}")
     public ResponseEntity<Anime> findByIdAuthenticationPrincipal(@PathVariable long id,
@@ -51,9 +129,21 @@ public class AnimeController {
         return ResponseEntity.ok(animeService.findByName(name));
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<Page<Anime>> search(@RequestParam String name, Pageable pageable) {
+        return ResponseEntity.ok(animeService.searchByName(name, pageable));
+    }
+
+    @GetMapping("/search/fuzzy")
+    public ResponseEntity<List<AnimeSearchHit>> fuzzySearch(@RequestParam String q,
+                                                            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(animeService.fuzzySearch(q, limit));
+    }
+
     @PostMapping
-    public ResponseEntity<Anime> save(@RequestBody @Valid AnimePostRequestBody anime) {
-        return new ResponseEntity<>(animeService.save(anime), HttpStatus.CREATED);
+    public ResponseEntity<Anime> save(@RequestBody @Valid AnimePostRequestBody anime) throws TimeoutException {
+        Anime saved = animeWriteBatcher.isEnabled() ? animeWriteBatcher.save(anime) : animeService.save(anime);
+        return new ResponseEntity<>(saved, HttpStatus.CREATED);
     }
     @DeleteMapping("/admin/{id}")
     public ResponseEntity<Void> delete(@PathVariable long id) {
@@ -61,8 +151,32 @@ public class AnimeController {
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
     @PutMapping
-    public ResponseEntity<Void> replace(@RequestBody AnimePutRequestBody animePutRequestBody) {
-        animeService.replace(animePutRequestBody);
+    public ResponseEntity<Void> replace(@RequestBody @Valid AnimePutRequestBody animePutRequestBody,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        animeService.replace(animePutRequestBody, AnimeEtag.expectedVersion(ifMatch, animePutRequestBody.getId()));
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patch(@PathVariable long id,
+                                      @RequestBody @Valid AnimePatchRequestBody animePatchRequestBody,
+                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        animeService.patch(id, animePatchRequestBody, AnimeEtag.expectedVersion(ifMatch, id));
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<List<BulkItemResult>> saveAll(@RequestBody List<AnimePostRequestBody> animes) {
+        return ResponseEntity.ok(animeBulkService.saveAll(animes));
+    }
+
+    @PutMapping("/bulk")
+    public ResponseEntity<List<BulkItemResult>> replaceAll(@RequestBody List<AnimePutRequestBody> animes) {
+        return ResponseEntity.ok(animeBulkService.replaceAll(animes));
+    }
+
+    @PostMapping("/admin/bulk/delete")
+    public ResponseEntity<List<BulkItemResult>> deleteAll(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(animeBulkService.deleteAll(ids));
+    }
 }
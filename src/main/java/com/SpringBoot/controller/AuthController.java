@@ -0,0 +1,35 @@
+package com.SpringBoot.controller;
+
+import com.SpringBoot.request.LoginRequestBody;
+import com.SpringBoot.response.TokenResponse;
+import com.SpringBoot.security.TokenService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.Valid;
+
+@RestController
+@RequestMapping("auth")
+@RequiredArgsConstructor
+public class AuthController {
+    private final AuthenticationManager authenticationManager;
+    private final TokenService tokenService;
+
+    @PostMapping("/login")
+    public ResponseEntity<TokenResponse> login(@RequestBody @Valid LoginRequestBody loginRequestBody) {
+        Authentication authentication = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
+                loginRequestBody.getUsername(), loginRequestBody.getPassword()));
+        return ResponseEntity.ok(TokenResponse.builder()
+                .token(tokenService.issue(authentication))
+                .tokenType("Bearer")
+                .expiresIn(tokenService.getTtl().getSeconds())
+                .build());
+    }
+}
@@ -0,0 +1,73 @@
+package com.SpringBoot.controller;
+
+import com.SpringBoot.response.CacheStatsResponse;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@RestController
+@RequestMapping("animes/admin/cache")
+@RequiredArgsConstructor
+public class CacheStatsController {
+    private static final String SECOND_LEVEL_PREFIX = "hibernate:";
+    private final CacheManager cacheManager;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @GetMapping
+    public ResponseEntity<List<CacheStatsResponse>> stats() {
+        Stream<CacheStatsResponse> applicationCaches = cacheManager.getCacheNames().stream()
+                .map(cacheManager::getCache)
+                .filter(Objects::nonNull)
+                .map(cache -> cache instanceof TransactionAwareCacheDecorator
+                        ? ((TransactionAwareCacheDecorator) cache).getTargetCache() : cache)
+                .filter(cache -> cache instanceof CaffeineCache)
+                .map(cache -> toResponse((CaffeineCache) cache));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Stream<CacheStatsResponse> secondLevelCaches = Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .map(region -> toResponse(region, statistics.getCacheRegionStatistics(region)))
+                .filter(Objects::nonNull);
+        return ResponseEntity.ok(Stream.concat(applicationCaches, secondLevelCaches).collect(Collectors.toList()));
+    }
+
+    private CacheStatsResponse toResponse(CaffeineCache cache) {
+        CacheStats stats = cache.getNativeCache().stats();
+        return CacheStatsResponse.builder()
+                .name(cache.getName())
+                .size(cache.getNativeCache().estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+
+    private CacheStatsResponse toResponse(String region, CacheRegionStatistics stats) {
+        if (stats == null) {
+            return null;
+        }
+        long requests = stats.getHitCount() + stats.getMissCount();
+        return CacheStatsResponse.builder()
+                .name(SECOND_LEVEL_PREFIX + region)
+                .size(stats.getElementCountInMemory())
+                .hitCount(stats.getHitCount())
+                .missCount(stats.getMissCount())
+                .hitRate(requests == 0 ? 1.0 : (double) stats.getHitCount() / requests)
+                .build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.SpringBoot.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+// Outside the transaction advice, so the flag is already set when the transaction begins.
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class PrimaryReadAspect {
+
+    @Around("@annotation(com.SpringBoot.datasource.ReadFromPrimary)")
+    public Object readFromPrimary(ProceedingJoinPoint joinPoint) throws Throwable {
+        boolean previous = PrimaryReads.enter();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            PrimaryReads.exit(previous);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.SpringBoot.datasource;
+
+// Thread-bound flag behind @ReadFromPrimary, consulted by ReplicaRoutingDataSource when it picks a target.
+public final class PrimaryReads {
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    public static boolean isActive() {
+        return Boolean.TRUE.equals(ACTIVE.get());
+    }
+
+    static boolean enter() {
+        boolean previous = isActive();
+        ACTIVE.set(Boolean.TRUE);
+        return previous;
+    }
+
+    static void exit(boolean previous) {
+        if (!previous) {
+            ACTIVE.remove();
+        }
+    }
+}
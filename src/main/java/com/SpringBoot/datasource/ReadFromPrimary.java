@@ -0,0 +1,17 @@
+package com.SpringBoot.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Read-only work in the annotated method runs on the primary even when replicas are in rotation. For lookups whose
+ * result is cached: a row read from a lagging replica would otherwise be served from the cache long after the lag.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadFromPrimary {
+}
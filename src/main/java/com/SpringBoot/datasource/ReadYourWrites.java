@@ -0,0 +1,84 @@
+package com.SpringBoot.datasource;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Keeps reads on the primary for a short window after a committed write, first for the rest of the request and
+ * then, through a cookie, for the client's following requests. Work outside a request thread is never sticky.
+ * A forged cookie can only send that client's reads to the primary.
+ */
+public class ReadYourWrites {
+    public static final String COOKIE_NAME = "anime-primary-until";
+    private static final String ATTRIBUTE = ReadYourWrites.class.getName() + ".until";
+
+    private final Duration window;
+    private final Clock clock;
+
+    public ReadYourWrites(Duration window) {
+        this(window, Clock.systemUTC());
+    }
+
+    ReadYourWrites(Duration window, Clock clock) {
+        this.window = window;
+        this.clock = clock;
+    }
+
+    public boolean isSticky() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return false;
+        }
+        Long until = (Long) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (until == null) {
+            until = untilFromCookie(attributes);
+            attributes.setAttribute(ATTRIBUTE, until, RequestAttributes.SCOPE_REQUEST);
+        }
+        return until > clock.millis();
+    }
+
+    public void markWrite() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+        long until = clock.millis() + window.toMillis();
+        attributes.setAttribute(ATTRIBUTE, until, RequestAttributes.SCOPE_REQUEST);
+        HttpServletResponse response = attributes instanceof ServletRequestAttributes
+                ? ((ServletRequestAttributes) attributes).getResponse() : null;
+        if (response != null && !response.isCommitted()) {
+            Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(until));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, window.toSeconds()));
+            response.addCookie(cookie);
+        }
+    }
+
+    private static long untilFromCookie(RequestAttributes attributes) {
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return 0;
+        }
+        HttpServletRequest request = ((ServletRequestAttributes) attributes).getRequest();
+        if (request.getCookies() == null) {
+            return 0;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,55 @@
+package com.SpringBoot.datasource;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Read-only transactions bound for a replica run with {@link CacheMode#GET}: they may read the second-level and
+ * query caches but never put into them. Hibernate accepts a query result as fresh when it is newer than the last
+ * invalidation of its tables, which a result read from a lagging replica after a write would wrongly be.
+ * Each new transaction also clears {@link ReplicaReads}, so it reports only on reads made since.
+ */
+public class ReplicaAwareJpaTransactionManager extends JpaTransactionManager {
+    private final ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    public ReplicaAwareJpaTransactionManager(EntityManagerFactory entityManagerFactory,
+                                             ReplicaRoutingDataSource replicaRoutingDataSource) {
+        super(entityManagerFactory);
+        this.replicaRoutingDataSource = replicaRoutingDataSource;
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        ReplicaReads.reset();
+        super.doBegin(transaction, definition);
+        if (definition.isReadOnly() && replicaRoutingDataSource.routesReadsToReplica()) {
+            Session session = currentSession();
+            if (session != null) {
+                session.setCacheMode(CacheMode.GET);
+            }
+        }
+    }
+
+    // Nothing else in the application sets GET, so finding it here means doBegin did; an open-in-view
+    // EntityManager outlives the transaction and must not keep it.
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        Session session = currentSession();
+        if (session != null && session.isOpen() && session.getCacheMode() == CacheMode.GET) {
+            session.setCacheMode(CacheMode.NORMAL);
+        }
+        super.doCleanupAfterCompletion(transaction);
+    }
+
+    private Session currentSession() {
+        EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager.getResource(
+                obtainEntityManagerFactory());
+        return holder == null ? null : holder.getEntityManager().unwrap(Session.class);
+    }
+}
@@ -0,0 +1,25 @@
+package com.SpringBoot.datasource;
+
+// Thread-bound flag set by ReplicaRoutingDataSource when it hands out a replica, so callers can avoid caching what
+// a lagging replica returned. Every new transaction clears it; callers outside one clear it themselves.
+public final class ReplicaReads {
+    // For @Cacheable(unless = ...): a replica may still miss the write that evicted the entry
+    public static final String UNLESS_READ_FROM_REPLICA = "T(com.SpringBoot.datasource.ReplicaReads).wereUsed()";
+
+    private static final ThreadLocal<Boolean> USED = new ThreadLocal<>();
+
+    private ReplicaReads() {
+    }
+
+    public static boolean wereUsed() {
+        return Boolean.TRUE.equals(USED.get());
+    }
+
+    public static void reset() {
+        USED.remove();
+    }
+
+    static void markUsed() {
+        USED.set(Boolean.TRUE);
+    }
+}
@@ -0,0 +1,132 @@
+package com.SpringBoot.datasource;
+
+import com.SpringBoot.util.AfterCommit;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions round-robin to the healthy replicas and everything else to the primary, as are
+ * reads under {@link ReadFromPrimary} and reads from a client that just wrote. Handing out a replica is recorded
+ * in {@link ReplicaReads}, so results that may lag are kept out of the application caches. It must be
+ * wrapped in a LazyConnectionDataSourceProxy: the transaction manager asks for a connection before it publishes
+ * the read-only flag, and the lazy proxy defers the real lookup to the first statement.
+ */
+@Log4j2
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+    public static final String PRIMARY = "primary";
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+    private final Map<String, DataSource> replicas;
+    private final List<String> replicaKeys;
+    private final Set<String> healthyReplicas = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger next = new AtomicInteger();
+    private final ReadYourWrites readYourWrites;
+    private final Duration healthCheckInterval;
+    private ScheduledExecutorService healthChecker;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    ReadYourWrites readYourWrites, Duration healthCheckInterval) {
+        this.replicas = replicas;
+        this.replicaKeys = new ArrayList<>(replicas.keySet());
+        this.readYourWrites = readYourWrites;
+        this.healthCheckInterval = healthCheckInterval;
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        checkReplicas();
+        healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = healthCheckInterval.toMillis();
+        healthChecker.scheduleWithFixedDelay(this::checkReplicas, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                AfterCommit.run(readYourWrites::markWrite);
+            }
+            return PRIMARY;
+        }
+        if (PrimaryReads.isActive() || readYourWrites.isSticky()) {
+            return PRIMARY;
+        }
+        String replica = nextHealthyReplica();
+        if (!PRIMARY.equals(replica)) {
+            ReplicaReads.markUsed();
+        }
+        return replica;
+    }
+
+    // Whether a read-only transaction started now on this thread would be sent to a replica
+    public boolean routesReadsToReplica() {
+        return !PrimaryReads.isActive() && !healthyReplicas.isEmpty() && !readYourWrites.isSticky();
+    }
+
+    public boolean isHealthy(String replica) {
+        return healthyReplicas.contains(replica);
+    }
+
+    private String nextHealthyReplica() {
+        int size = replicaKeys.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            String candidate = replicaKeys.get((start + i) % size);
+            if (healthyReplicas.contains(candidate)) {
+                return candidate;
+            }
+        }
+        return PRIMARY;
+    }
+
+    void checkReplicas() {
+        replicas.forEach((key, dataSource) -> {
+            boolean healthy = isValid(dataSource);
+            boolean changed = healthy ? healthyReplicas.add(key) : healthyReplicas.remove(key);
+            if (changed) {
+                log.info("Replica {} is now {}", key, healthy ? "in rotation" : "out of rotation, reads fall back to the primary");
+            }
+        });
+    }
+
+    private static boolean isValid(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException | RuntimeException e) {
+            return false;
+        }
+    }
+}
@@ -1,23 +1,57 @@
 package com.SpringBoot.domain;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotEmpty;
+import java.util.Locale;
 
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
 @Builder
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "anime")
+@Table(indexes = {
+        @Index(name = "idx_anime_name_id", columnList = "name, id"),
+        @Index(name = "idx_anime_search_name", columnList = "search_name, id")
+})
 public class Anime {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "anime_id")
+    @GenericGenerator(name = "anime_id", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+            @Parameter(name = "sequence_name", value = "anime_seq"),
+            @Parameter(name = "force_table_use", value = "true"),
+            @Parameter(name = "initial_value", value = "1"),
+            @Parameter(name = "increment_size", value = "50"),
+            @Parameter(name = "optimizer", value = "pooled-lo")
+    })
     private Long id;
     @NotEmpty(message = "The anime name cannot be empty")
     private String name;
+    @Version
+    private Long version;
+    @JsonIgnore
+    @Column(name = "search_name")
+    private String searchName;
+
+    @PrePersist
+    @PreUpdate
+    void normalizeSearchName() {
+        searchName = normalize(name);
+    }
+
+    public static String normalize(String name) {
+        return name == null ? null : name.trim().toLowerCase(Locale.ROOT);
+    }
 }
@@ -1,15 +1,20 @@
 package com.SpringBoot.domain;
 
 
+import com.SpringBoot.security.UsuarioChangeListener;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
@@ -23,6 +28,9 @@ import java.util.stream.Collectors;
 @NoArgsConstructor
 @Entity
 @Builder
+@EntityListeners(UsuarioChangeListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "usuario")
 public class UsuarioP implements UserDetails {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -4,9 +4,10 @@ package com.SpringBoot.exception;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+// Stackless: thrown for expected client errors, where filling in the stack trace dominated the cost of a miss.
 @ResponseStatus(HttpStatus.BAD_REQUEST)
 public class BadRequestException extends RuntimeException{
     public BadRequestException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
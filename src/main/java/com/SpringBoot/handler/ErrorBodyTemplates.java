@@ -0,0 +1,133 @@
+package com.SpringBoot.handler;
+
+import com.SpringBoot.exception.ExceptionDetails;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * JSON error bodies for one kind of error, serialized once per distinct message. Only the timestamp changes
+ * between responses, so each template is kept as the bytes before and after it, and the timestamp, truncated to
+ * the second, is re-serialized at most once a second. Rendering is then one array copy.
+ */
+class ErrorBodyTemplates {
+    private static final LocalDateTime PLACEHOLDER = LocalDateTime.MIN;
+    private static final int MAX_TEMPLATES = 256;
+
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final HttpStatus status;
+    private final String title;
+    private final String developerMessage;
+    private final ConcurrentMap<String, Template> templates = new ConcurrentHashMap<>();
+    private volatile Timestamp timestamp = new Timestamp(Long.MIN_VALUE, new byte[0]);
+
+    ErrorBodyTemplates(ObjectMapper objectMapper, HttpStatus status, String title, String developerMessage) {
+        this(objectMapper, Clock.systemDefaultZone(), status, title, developerMessage);
+    }
+
+    ErrorBodyTemplates(ObjectMapper objectMapper, Clock clock, HttpStatus status, String title, String developerMessage) {
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.status = status;
+        this.title = title;
+        this.developerMessage = developerMessage;
+    }
+
+    byte[] render(String details) {
+        Template template = templates.get(details == null ? "" : details);
+        if (template == null) {
+            template = createTemplate(details);
+            if (templates.size() < MAX_TEMPLATES) {
+                templates.putIfAbsent(details == null ? "" : details, template);
+            }
+        }
+        byte[] now = currentTimestamp();
+        byte[] body = new byte[template.prefix.length + now.length + template.suffix.length];
+        System.arraycopy(template.prefix, 0, body, 0, template.prefix.length);
+        System.arraycopy(now, 0, body, template.prefix.length, now.length);
+        System.arraycopy(template.suffix, 0, body, template.prefix.length + now.length, template.suffix.length);
+        return body;
+    }
+
+    private Template createTemplate(String details) {
+        byte[] json = serialize(ExceptionDetails.builder()
+                .timestamp(PLACEHOLDER)
+                .status(status.value())
+                .title(title)
+                .details(details)
+                .developerMessage(developerMessage)
+                .build());
+        byte[] placeholder = serialize(PLACEHOLDER);
+        int at = indexOf(json, placeholder);
+        if (at < 0) {
+            throw new IllegalStateException("Timestamp placeholder not found in serialized error body");
+        }
+        byte[] prefix = new byte[at];
+        byte[] suffix = new byte[json.length - at - placeholder.length];
+        System.arraycopy(json, 0, prefix, 0, prefix.length);
+        System.arraycopy(json, at + placeholder.length, suffix, 0, suffix.length);
+        return new Template(prefix, suffix);
+    }
+
+    private byte[] currentTimestamp() {
+        long second = Math.floorDiv(clock.millis(), 1000L);
+        Timestamp current = timestamp;
+        if (current.second != second) {
+            LocalDateTime now = LocalDateTime.ofInstant(Instant.ofEpochSecond(second), clock.getZone())
+                    .truncatedTo(ChronoUnit.SECONDS);
+            current = new Timestamp(second, serialize(now));
+            timestamp = current;
+        }
+        return current.json;
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int indexOf(byte[] source, byte[] target) {
+        outer:
+        for (int i = 0; i <= source.length - target.length; i++) {
+            for (int j = 0; j < target.length; j++) {
+                if (source[i + j] != target[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static final class Template {
+        private final byte[] prefix;
+        private final byte[] suffix;
+
+        private Template(byte[] prefix, byte[] suffix) {
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
+    }
+
+    private static final class Timestamp {
+        private final long second;
+        private final byte[] json;
+
+        private Timestamp(long second, byte[] json) {
+            this.second = second;
+            this.json = json;
+        }
+    }
+}
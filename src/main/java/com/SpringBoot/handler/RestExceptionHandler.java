@@ -1,14 +1,21 @@
 package com.SpringBoot.handler;
 
+import com.SpringBoot.config.WireFormatConfig;
 import com.SpringBoot.exception.BadRequestExceptionDetails;
 import com.SpringBoot.exception.ExceptionDetails;
 import com.SpringBoot.exception.ValidationExceptionDetails;
 import com.SpringBoot.exception.BadRequestException;
+import com.SpringBoot.exception.PreconditionFailedException;
+import com.SpringBoot.exception.PreconditionFailedExceptionDetails;
+import com.SpringBoot.exception.ServiceUnavailableExceptionDetails;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -18,22 +25,61 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 
 @ControllerAdvice
 @Log4j2
 public class RestExceptionHandler extends ResponseEntityExceptionHandler{
+    private static final String BAD_REQUEST_TITLE = "Bad request exception, Check the documentation";
+    private final ErrorBodyTemplates badRequestBodies;
+
+    public RestExceptionHandler(ObjectMapper objectMapper) {
+        this.badRequestBodies = new ErrorBodyTemplates(objectMapper, HttpStatus.BAD_REQUEST, BAD_REQUEST_TITLE,
+                BadRequestException.class.getName());
+    }
+
+    // Invalid ids are the most common error, so JSON clients get a pre-serialized body; Smile and CBOR clients
+    // still go through the converters.
     @ExceptionHandler(BadRequestException.class)
-    public ResponseEntity<BadRequestExceptionDetails> handlerBadRequestException(BadRequestException bre){
+    public ResponseEntity<?> handlerBadRequestException(BadRequestException bre, WebRequest request){
+        if (MediaType.APPLICATION_JSON.equals(WireFormatConfig.preferredMediaType(request.getHeader(HttpHeaders.ACCEPT)))) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(badRequestBodies.render(bre.getMessage()));
+        }
         return new ResponseEntity<>(BadRequestExceptionDetails.builder().timestamp(LocalDateTime.now())
                 .status(HttpStatus.BAD_REQUEST.value())
-                .title("Bad request exception, Check the documentation")
+                .title(BAD_REQUEST_TITLE)
                 .details(bre.getMessage())
                 .developerMessage(bre.getClass().getName())
                 .build(), HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler({PreconditionFailedException.class, ObjectOptimisticLockingFailureException.class})
+    public ResponseEntity<PreconditionFailedExceptionDetails> handlerPreconditionFailedException(RuntimeException exception){
+        return new ResponseEntity<>(PreconditionFailedExceptionDetails.builder().timestamp(LocalDateTime.now())
+                .status(HttpStatus.PRECONDITION_FAILED.value())
+                .title("Precondition failed, the resource was modified")
+                .details(exception.getMessage())
+                .developerMessage(exception.getClass().getName())
+                .build(), HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler({RejectedExecutionException.class, TimeoutException.class})
+    public ResponseEntity<ServiceUnavailableExceptionDetails> handlerServiceUnavailableException(Exception exception){
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ServiceUnavailableExceptionDetails.builder().timestamp(LocalDateTime.now())
+                        .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                        .title("Service unavailable, try again later")
+                        .details(exception.getMessage())
+                        .developerMessage(exception.getClass().getName())
+                        .build());
+    }
+
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(
             MethodArgumentNotValidException exception, HttpHeaders headers, HttpStatus status, WebRequest request) {
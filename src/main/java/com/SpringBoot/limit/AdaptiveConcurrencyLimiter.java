@@ -0,0 +1,130 @@
+package com.SpringBoot.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AIMD concurrency limit: every fast response while the limit is at least half used raises it by one, a slow or
+ * overloaded response multiplies it by the backoff ratio. Requests over the limit are refused instead of queued.
+ */
+public class AdaptiveConcurrencyLimiter {
+    public static final String METRIC_PREFIX = "anime.concurrency";
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejected;
+    private final Counter increases;
+    private final Counter decreases;
+    private volatile int limit;
+    private long lastDecreaseNanos;
+
+    public AdaptiveConcurrencyLimiter(String route, ConcurrencyLimitProperties.Route properties,
+                                      MeterRegistry meterRegistry) {
+        this.minLimit = properties.getMinLimit();
+        this.maxLimit = properties.getMaxLimit();
+        this.latencyThresholdNanos = properties.getLatencyThreshold().toNanos();
+        this.backoffRatio = properties.getBackoffRatio();
+        this.limit = Math.max(minLimit, Math.min(maxLimit, properties.getInitialLimit()));
+        this.lastDecreaseNanos = System.nanoTime() - latencyThresholdNanos;
+
+        Gauge.builder(METRIC_PREFIX + ".limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("route", route)
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".in.flight", inFlight, AtomicInteger::get)
+                .description("Requests currently holding a concurrency permit")
+                .tag("route", route)
+                .register(meterRegistry);
+        this.rejected = Counter.builder(METRIC_PREFIX + ".rejected")
+                .description("Requests refused because the concurrency limit was reached")
+                .tag("route", route)
+                .register(meterRegistry);
+        this.increases = limitChanges(meterRegistry, route, "increase");
+        this.decreases = limitChanges(meterRegistry, route, "decrease");
+    }
+
+    private static Counter limitChanges(MeterRegistry meterRegistry, String route, String direction) {
+        return Counter.builder(METRIC_PREFIX + ".limit.changes")
+                .description("Adjustments of the adaptive concurrency limit")
+                .tag("route", route)
+                .tag("direction", direction)
+                .register(meterRegistry);
+    }
+
+    // Null when the limit is reached
+    public Permit tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return null;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return new Permit(System.nanoTime());
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void onRelease(long latencyNanos, boolean latencyIgnored, boolean overloaded) {
+        int observedInFlight = inFlight.getAndDecrement();
+        if (overloaded || (!latencyIgnored && latencyNanos > latencyThresholdNanos)) {
+            decrease();
+        } else if (!latencyIgnored && observedInFlight * 2 >= limit) {
+            increase();
+        }
+    }
+
+    private synchronized void increase() {
+        if (limit < maxLimit) {
+            limit++;
+            increases.increment();
+        }
+    }
+
+    // Backs off at most once per latency threshold, so a wave of slow responses from one stall counts as one signal
+    private synchronized void decrease() {
+        long now = System.nanoTime();
+        if (now - lastDecreaseNanos < latencyThresholdNanos || limit <= minLimit) {
+            return;
+        }
+        lastDecreaseNanos = now;
+        limit = Math.max(minLimit, (int) (limit * backoffRatio));
+        decreases.increment();
+    }
+
+    public final class Permit {
+        private final long startNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile boolean latencyIgnored;
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        // For requests whose latency follows the size of their work rather than the load; only overload still counts
+        public void ignoreLatency() {
+            latencyIgnored = true;
+        }
+
+        // Safe to call more than once; only the first call counts
+        public void release(boolean overloaded) {
+            if (released.compareAndSet(false, true)) {
+                onRelease(System.nanoTime() - startNanos, latencyIgnored, overloaded);
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.SpringBoot.limit;
+
+import com.SpringBoot.exception.ServiceUnavailableExceptionDetails;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Sheds /animes load before it reaches a Tomcat thread's worth of database work. Reads and writes have their own
+ * limiter so a write burst cannot starve reads. A refused request gets the same 503 body as RestExceptionHandler.
+ * Full exports and bulk batches still hold a permit, but their latency is not taken as a sign of overload.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+    // Each also matches the paths below it
+    private static final List<String> SIZE_BOUND_PATHS = List.of("/animes/all", "/animes/async/all", "/animes/bulk",
+            "/animes/admin/bulk");
+
+    private final AdaptiveConcurrencyLimiter readLimiter;
+    private final AdaptiveConcurrencyLimiter writeLimiter;
+    private final ObjectMapper objectMapper;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter readLimiter, AdaptiveConcurrencyLimiter writeLimiter,
+                                  ObjectMapper objectMapper) {
+        this.readLimiter = readLimiter;
+        this.writeLimiter = writeLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AdaptiveConcurrencyLimiter.Permit permit = (isWrite(request) ? writeLimiter : readLimiter).tryAcquire();
+        if (permit == null) {
+            reject(response);
+            return;
+        }
+        if (isSizeBound(request)) {
+            permit.ignoreLatency();
+        }
+        boolean async = false;
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // The async controllers finish on another thread; hold the permit until they do
+                request.getAsyncContext().addListener(new PermitReleasingListener(permit));
+                async = true;
+            }
+            failed = false;
+        } finally {
+            // An exception escaping the chain leaves the status at 200; it is no fast success
+            if (!async) {
+                permit.release(failed || response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value());
+            }
+        }
+    }
+
+    static boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        return URL_PATH_HELPER.getPathWithinApplication(request).startsWith("/animes/admin/")
+                || !(HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method));
+    }
+
+    // Whole-table exports and bulk batches of up to thousands of items are slow because of their size
+    static boolean isSizeBound(HttpServletRequest request) {
+        String path = URL_PATH_HELPER.getPathWithinApplication(request);
+        return SIZE_BOUND_PATHS.stream().anyMatch(sizeBound -> path.equals(sizeBound) || path.startsWith(sizeBound + "/"));
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ServiceUnavailableExceptionDetails.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .title("Service unavailable, try again later")
+                .details("Too many concurrent requests")
+                .developerMessage(ConcurrencyLimitFilter.class.getName())
+                .build());
+    }
+
+    private static final class PermitReleasingListener implements AsyncListener {
+        private final AdaptiveConcurrencyLimiter.Permit permit;
+
+        private PermitReleasingListener(AdaptiveConcurrencyLimiter.Permit permit) {
+            this.permit = permit;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            HttpServletResponse response = (HttpServletResponse) event.getSuppliedResponse();
+            permit.release(response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value());
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            permit.release(true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            permit.release(false);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.SpringBoot.limit;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "anime.concurrency")
+public class ConcurrencyLimitProperties {
+    private boolean enabled = true;
+    private Route read = new Route(50, 5, 200, Duration.ofMillis(250), 0.9);
+    private Route write = new Route(10, 2, 50, Duration.ofMillis(500), 0.9);
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Route {
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+        // A response slower than this counts as congestion, like a 503 from further down
+        private Duration latencyThreshold;
+        private double backoffRatio;
+    }
+}
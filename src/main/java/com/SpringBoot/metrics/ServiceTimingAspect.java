@@ -0,0 +1,39 @@
+package com.SpringBoot.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+// Controllers are already timed as http.server.requests; this adds the service layer underneath, one timer per method.
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceTimingAspect {
+    public static final String METRIC_NAME = "anime.service";
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * com.SpringBoot.service.AnimeService.*(..))"
+            + " || execution(public * com.SpringBoot.service.AnimeBulkService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(METRIC_NAME)
+                    .description("Latency of AnimeService and AnimeBulkService calls")
+                    .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.SpringBoot.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+// Boot's Tomcat binder reports busy and max threads but not the backlog, which is what shows saturation first.
+@Component
+@Log4j2
+@RequiredArgsConstructor
+public class TomcatQueueMetrics implements ApplicationListener<WebServerInitializedEvent> {
+    public static final String METRIC_NAME = "tomcat.threads.queued";
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void onApplicationEvent(WebServerInitializedEvent event) {
+        if (!(event.getWebServer() instanceof TomcatWebServer)) {
+            return;
+        }
+        Executor executor = ((TomcatWebServer) event.getWebServer()).getTomcat().getConnector()
+                .getProtocolHandler().getExecutor();
+        if (!(executor instanceof ThreadPoolExecutor)) {
+            log.warn("Tomcat executor {} exposes no queue, {} will not be reported", executor, METRIC_NAME);
+            return;
+        }
+        ThreadPoolExecutor pool = (ThreadPoolExecutor) executor;
+        Gauge.builder(METRIC_NAME, pool, p -> p.getQueue().size())
+                .description("Requests accepted by Tomcat and waiting for a request thread")
+                .register(meterRegistry);
+    }
+}
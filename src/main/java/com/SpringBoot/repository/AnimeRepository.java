@@ -1,9 +1,71 @@
 package com.SpringBoot.repository;
 import com.SpringBoot.domain.Anime;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+// Query-cache hits are invalidated by Hibernate whenever the anime table is written, bulk statements included.
 public interface AnimeRepository extends JpaRepository<Anime, Long> {
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    Page<Anime> findAll(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Anime> findByName(String name);
+
+    Slice<Anime> findAllBy(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("select a.version from Anime a where a.id = :id")
+    Optional<Long> findVersionById(@Param("id") long id);
+
+    @Query("select a from Anime a where a.searchName like :prefix escape '!'")
+    Page<Anime> searchByNamePrefix(@Param("prefix") String prefix, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("select a from Anime a")
+    Stream<Anime> streamAll();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select a.id, a.name from Anime a")
+    Stream<Object[]> streamIdsAndNames();
+
+    @Query("select a from Anime a where a.id > :id order by a.id asc")
+    List<Anime> findPageAfterId(@Param("id") long id, Pageable pageable);
+
+    @Query("select a from Anime a where a.name >= :name and (a.name > :name or a.id > :id) order by a.name asc, a.id asc")
+    List<Anime> findPageAfterName(@Param("name") String name, @Param("id") long id, Pageable pageable);
+
+    @Modifying
+    @Query("update Anime a set a.name = :name, a.searchName = :searchName, a.version = a.version + 1 where a.id = :id")
+    int updateName(@Param("id") long id, @Param("name") String name, @Param("searchName") String searchName);
+
+    @Modifying
+    @Query("update Anime a set a.name = :name, a.searchName = :searchName, a.version = a.version + 1 " +
+            "where a.id = :id and a.version = :version")
+    int updateNameIfVersion(@Param("id") long id, @Param("version") long version,
+                            @Param("name") String name, @Param("searchName") String searchName);
+
+    @Modifying
+    @Query("delete from Anime a where a.id = :id")
+    int removeById(@Param("id") long id);
 }
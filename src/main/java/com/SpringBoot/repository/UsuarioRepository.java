@@ -1,7 +1,17 @@
 package com.SpringBoot.repository;
 import com.SpringBoot.domain.UsuarioP;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import javax.persistence.QueryHint;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
 
 public interface UsuarioRepository extends JpaRepository<UsuarioP, Long> {
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = "usuario-by-username")
+    })
     UsuarioP findByUserName(String userName);
 }
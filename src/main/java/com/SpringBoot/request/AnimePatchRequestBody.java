@@ -0,0 +1,16 @@
+package com.SpringBoot.request;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.Pattern;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AnimePatchRequestBody {
+    @Pattern(regexp = ".*\\S.*", message = "the anime name cannot be Empty")
+    private String name;
+}
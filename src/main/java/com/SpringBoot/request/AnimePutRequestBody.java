@@ -1,10 +1,17 @@
 package com.SpringBoot.request;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotEmpty;
 
 @Data
 @Builder
+@AllArgsConstructor
+@NoArgsConstructor
 public class AnimePutRequestBody {
     private long id;
+    @NotEmpty(message = "the anime name cannot be Empty or Null")
     private String name;
 }
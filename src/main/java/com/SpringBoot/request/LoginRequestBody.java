@@ -0,0 +1,18 @@
+package com.SpringBoot.request;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotEmpty;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LoginRequestBody {
+    @NotEmpty(message = "the username cannot be Empty or Null")
+    private String username;
+    @NotEmpty(message = "the password cannot be Empty or Null")
+    private String password;
+}
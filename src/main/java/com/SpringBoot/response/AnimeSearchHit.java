@@ -0,0 +1,16 @@
+package com.SpringBoot.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AnimeSearchHit {
+    private Long id;
+    private String name;
+    private double score;
+}
@@ -0,0 +1,175 @@
+package com.SpringBoot.search;
+
+import com.SpringBoot.datasource.ReadFromPrimary;
+import com.SpringBoot.repository.AnimeRepository;
+import com.SpringBoot.util.AfterCommit;
+import com.SpringBoot.util.BloomFilter;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filters over every anime id and name, so lookups for keys that certainly do not exist skip the database.
+ * Keys are added before their insert commits and never removed; a periodic rebuild drops deleted ones.
+ * Until the first build finishes every key is reported as possibly present. Rows inserted around this service
+ * (another instance, SQL imports, migrations) stay ruled out until the next rebuild, so the filters are off unless
+ * anime.bloom.enabled is set, which only suits a deployment where this instance is the table's sole writer.
+ */
+@Component
+@Log4j2
+public class AnimeMembershipFilter {
+    // Letters the collation equates with ASCII spellings but Unicode decomposition leaves alone
+    private static final Map<Character, String> EXPANSIONS = Map.ofEntries(
+            Map.entry('ß', "ss"), Map.entry('æ', "ae"), Map.entry('œ', "oe"), Map.entry('ø', "o"),
+            Map.entry('đ', "d"), Map.entry('ð', "d"), Map.entry('ħ', "h"), Map.entry('ı', "i"),
+            Map.entry('ł', "l"), Map.entry('ŧ', "t"), Map.entry('þ', "th"), Map.entry('ŋ', "n"),
+            Map.entry('ĸ', "k"), Map.entry('ſ', "s"));
+
+    private final AnimeRepository animeRepository;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final long maxBytes;
+    private final Object lock = new Object();
+    private volatile Filters current;
+    // Keys put while a rebuild streams the table, replayed into the new filters before they are swapped in
+    private List<Key> putDuringRebuild;
+
+    public AnimeMembershipFilter(AnimeRepository animeRepository,
+                                 @Value("${anime.bloom.enabled:false}") boolean enabled,
+                                 @Value("${anime.bloom.expected-insertions:100000}") long expectedInsertions,
+                                 @Value("${anime.bloom.false-positive-rate:0.01}") double falsePositiveRate,
+                                 @Value("${anime.bloom.max-bytes:4194304}") long maxBytes) {
+        this.animeRepository = animeRepository;
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.maxBytes = maxBytes;
+    }
+
+    public boolean mightContainId(long id) {
+        Filters filters = current;
+        return filters == null || filters.ids.mightContain(BloomFilter.hash(id));
+    }
+
+    public boolean mightContainName(String name) {
+        Filters filters = current;
+        return filters == null || name == null || filters.names.mightContain(BloomFilter.hash(normalize(name)));
+    }
+
+    // Called before the insert commits, so the row is never visible while ruled out. The key is put again after
+    // commit: a rebuild that started in between streamed the table without the uncommitted row.
+    public void put(long id, String name) {
+        Key key = new Key(id, name);
+        putNow(key);
+        AfterCommit.run(() -> putNow(key));
+    }
+
+    private void putNow(Key key) {
+        synchronized (lock) {
+            Filters filters = current;
+            if (filters != null) {
+                filters.put(key);
+            }
+            if (putDuringRebuild != null) {
+                putDuringRebuild.add(key);
+            }
+        }
+    }
+
+    // From the primary: a lagging replica would leave out rows committed just before the rebuild
+    @EventListener(ContextRefreshedEvent.class)
+    @Scheduled(fixedDelayString = "${anime.bloom.rebuild-interval:PT1H}", initialDelayString = "${anime.bloom.rebuild-interval:PT1H}")
+    @ReadFromPrimary
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        // Before the first read fixes the snapshot, so every key committed later reaches putDuringRebuild
+        synchronized (lock) {
+            putDuringRebuild = new ArrayList<>();
+        }
+        try {
+            long size = Math.max(expectedInsertions, animeRepository.count() * 2);
+            Filters building = new Filters(BloomFilter.create(size, falsePositiveRate, maxBytes),
+                    BloomFilter.create(size, falsePositiveRate, maxBytes));
+            try (Stream<Object[]> keys = animeRepository.streamIdsAndNames()) {
+                keys.forEach(key -> building.put(new Key((Long) key[0], (String) key[1])));
+            }
+            synchronized (lock) {
+                putDuringRebuild.forEach(building::put);
+                current = building;
+            }
+            log.info("Anime membership filters rebuilt for up to {} keys with {} bits and {} hashes each",
+                    size, building.ids.bitSize(), building.ids.hashFunctions());
+        } finally {
+            synchronized (lock) {
+                putDuringRebuild = null;
+            }
+        }
+    }
+
+    /**
+     * A key at least as coarse as the case- and accent-insensitive collation, so any two names the database
+     * considers equal share it. Compatibility decomposition folds width variants and ligatures, a few letters are
+     * expanded by hand (ß = ss, æ = ae), and whatever is still not an ASCII letter or digit is dropped. Names in
+     * other scripts therefore all share the empty key: the filter cannot rule them out, which only costs a query.
+     */
+    static String normalize(String name) {
+        String decomposed = Normalizer.normalize(name, Normalizer.Form.NFKD).toLowerCase(Locale.ROOT);
+        StringBuilder key = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                key.append(c);
+            } else if (Character.isDigit(c)) {
+                key.append(Character.forDigit(Character.digit(c, 10), 10));
+            } else {
+                String expansion = EXPANSIONS.get(c);
+                if (expansion != null) {
+                    key.append(expansion);
+                }
+            }
+        }
+        return key.toString();
+    }
+
+    private static final class Key {
+        private final long id;
+        private final String name;
+
+        private Key(long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    private static final class Filters {
+        private final BloomFilter ids;
+        private final BloomFilter names;
+
+        private Filters(BloomFilter ids, BloomFilter names) {
+            this.ids = ids;
+            this.names = names;
+        }
+
+        private void put(Key key) {
+            ids.put(BloomFilter.hash(key.id));
+            if (key.name != null) {
+                names.put(BloomFilter.hash(normalize(key.name)));
+            }
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.SpringBoot.search;
+
+import com.SpringBoot.domain.Anime;
+import com.SpringBoot.response.AnimeSearchHit;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// Inverted index over anime names: token -> anime ids, plus trigram -> tokens to find misspelled tokens.
+@Component
+public class AnimeSearchIndex {
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final double EXACT_SCORE = 1.0;
+    private static final double PREFIX_SCORE = 0.8;
+    private static final double FUZZY_SCORE = 0.7;
+    private static final int MIN_PREFIX_LENGTH = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Postings postings = new Postings();
+    // Non-null while a rebuild runs: writes that may be missing from its snapshot, replayed before the swap
+    private List<Consumer<Postings>> writesDuringRebuild;
+
+    public synchronized void rebuild(Iterable<Anime> animes) {
+        lock.writeLock().lock();
+        try {
+            writesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            Postings building = new Postings();
+            animes.forEach(building::put);
+            lock.writeLock().lock();
+            try {
+                writesDuringRebuild.forEach(write -> write.accept(building));
+                postings = building;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                writesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public void put(Anime anime) {
+        write(target -> {
+            target.remove(anime.getId());
+            target.put(anime);
+        });
+    }
+
+    public void remove(long id) {
+        write(target -> target.remove(id));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return postings.names.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<AnimeSearchHit> search(String query, int limit) {
+        Set<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = new HashMap<>();
+            for (String queryToken : queryTokens) {
+                Map<Long, Double> bestForToken = new HashMap<>();
+                matchingTokens(queryToken).forEach((token, score) ->
+                        postings.idsByToken.getOrDefault(token, Set.of())
+                                .forEach(id -> bestForToken.merge(id, score, Math::max)));
+                bestForToken.forEach((id, score) -> scores.merge(id, score, Double::sum));
+            }
+            return scores.entrySet().stream()
+                    .map(entry -> AnimeSearchHit.builder()
+                            .id(entry.getKey())
+                            .name(postings.names.get(entry.getKey()))
+                            .score(entry.getValue() / queryTokens.size())
+                            .build())
+                    .sorted(Comparator.comparingDouble(AnimeSearchHit::getScore).reversed()
+                            .thenComparingInt(hit -> hit.getName().length())
+                            .thenComparingLong(AnimeSearchHit::getId))
+                    .limit(limit)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Consumer<Postings> write) {
+        lock.writeLock().lock();
+        try {
+            write.accept(postings);
+            if (writesDuringRebuild != null) {
+                writesDuringRebuild.add(write);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Map<String, Double> matchingTokens(String queryToken) {
+        Map<String, Double> matches = new HashMap<>();
+        if (postings.idsByToken.containsKey(queryToken)) {
+            matches.put(queryToken, EXACT_SCORE);
+        }
+        int maxEdits = maxEdits(queryToken);
+        Set<String> candidates = new HashSet<>();
+        for (String trigram : trigrams(queryToken)) {
+            candidates.addAll(postings.tokensByTrigram.getOrDefault(trigram, Set.of()));
+        }
+        for (String candidate : candidates) {
+            if (matches.containsKey(candidate)) {
+                continue;
+            }
+            if (queryToken.length() >= MIN_PREFIX_LENGTH && candidate.startsWith(queryToken)) {
+                matches.put(candidate, PREFIX_SCORE);
+                continue;
+            }
+            if (maxEdits == 0 || Math.abs(candidate.length() - queryToken.length()) > maxEdits) {
+                continue;
+            }
+            int distance = editDistance(queryToken, candidate, maxEdits);
+            if (distance <= maxEdits) {
+                double similarity = 1.0 - (double) distance / Math.max(queryToken.length(), candidate.length());
+                matches.put(candidate, FUZZY_SCORE * similarity);
+            }
+        }
+        return matches;
+    }
+
+    private static class Postings {
+        private final Map<Long, String> names = new HashMap<>();
+        private final Map<Long, Set<String>> tokensById = new HashMap<>();
+        private final Map<String, Set<Long>> idsByToken = new HashMap<>();
+        private final Map<String, Set<String>> tokensByTrigram = new HashMap<>();
+
+        private void put(Anime anime) {
+            if (anime.getId() == null || anime.getName() == null) {
+                return;
+            }
+            Set<String> tokens = tokenize(anime.getName());
+            names.put(anime.getId(), anime.getName());
+            tokensById.put(anime.getId(), tokens);
+            for (String token : tokens) {
+                Set<Long> ids = idsByToken.computeIfAbsent(token, key -> new HashSet<>());
+                if (ids.isEmpty()) {
+                    trigrams(token).forEach(trigram -> tokensByTrigram.computeIfAbsent(trigram, key -> new HashSet<>()).add(token));
+                }
+                ids.add(anime.getId());
+            }
+        }
+
+        private void remove(Long id) {
+            names.remove(id);
+            Set<String> tokens = tokensById.remove(id);
+            if (tokens == null) {
+                return;
+            }
+            for (String token : tokens) {
+                Set<Long> ids = idsByToken.get(token);
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    idsByToken.remove(token);
+                    for (String trigram : trigrams(token)) {
+                        Set<String> trigramTokens = tokensByTrigram.get(trigram);
+                        trigramTokens.remove(token);
+                        if (trigramTokens.isEmpty()) {
+                            tokensByTrigram.remove(trigram);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    static Set<String> tokenize(String text) {
+        if (text == null) {
+            return Set.of();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : NON_ALPHANUMERIC.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    static List<String> trigrams(String token) {
+        String padded = "^" + token + "$";
+        List<String> trigrams = new ArrayList<>(padded.length() - 2);
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    private static int maxEdits(String token) {
+        if (token.length() <= 3) {
+            return 0;
+        }
+        return token.length() <= 6 ? 1 : 2;
+    }
+
+    // Levenshtein distance that gives up as soon as every cell in a row exceeds the limit.
+    static int editDistance(String a, String b, int limit) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > limit) {
+                return limit + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
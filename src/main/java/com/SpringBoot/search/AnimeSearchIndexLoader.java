@@ -0,0 +1,34 @@
+package com.SpringBoot.search;
+
+import com.SpringBoot.datasource.ReadFromPrimary;
+import com.SpringBoot.domain.Anime;
+import com.SpringBoot.repository.AnimeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.Stream;
+
+@Component
+@RequiredArgsConstructor
+@Log4j2
+public class AnimeSearchIndexLoader {
+    private final AnimeRepository animeRepository;
+    private final AnimeSearchIndex animeSearchIndex;
+
+    // The web server is already accepting requests here; writes that land meanwhile are replayed by the rebuild.
+    // From the primary: a lagging replica would leave out rows committed just before the load
+    @EventListener(ContextRefreshedEvent.class)
+    @ReadFromPrimary
+    @Transactional(readOnly = true)
+    public void load() {
+        try (Stream<Object[]> rows = animeRepository.streamIdsAndNames()) {
+            Stream<Anime> animes = rows.map(row -> Anime.builder().id((Long) row[0]).name((String) row[1]).build());
+            animeSearchIndex.rebuild(animes::iterator);
+        }
+        log.info("Anime search index built with {} animes", animeSearchIndex.size());
+    }
+}
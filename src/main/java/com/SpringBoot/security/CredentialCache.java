@@ -0,0 +1,88 @@
+package com.SpringBoot.security;
+
+import com.SpringBoot.domain.UsuarioP;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+
+// Remembers credentials that already passed bcrypt, keyed by an HMAC whose key never leaves this process.
+@Component
+public class CredentialCache {
+    private static final String DIGEST_ALGORITHM = "HmacSHA256";
+
+    private final Cache<String, CachedCredential> cache;
+    private final SecretKeySpec digestKey;
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+
+    public CredentialCache(@Value("${security.credential-cache.ttl:60s}") Duration ttl,
+                           @Value("${security.credential-cache.maximum-size:10000}") long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .build();
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.digestKey = new SecretKeySpec(key, DIGEST_ALGORITHM);
+    }
+
+    public CachedCredential get(String username, String password) {
+        return cache.getIfPresent(digest(username, password));
+    }
+
+    public void put(String username, String password, Authentication authentication) {
+        Object principal = authentication.getPrincipal();
+        Long userId = principal instanceof UsuarioP ? ((UsuarioP) principal).getId() : null;
+        cache.put(digest(username, password), new CachedCredential(username, userId, principal,
+                List.copyOf(authentication.getAuthorities())));
+    }
+
+    public void evict(Long userId, String username) {
+        cache.asMap().values().removeIf(credential ->
+                (userId != null && userId.equals(credential.getUserId())) || Objects.equals(username, credential.getUsername()));
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private String digest(String username, String password) {
+        Mac mac = macs.get();
+        mac.update(username.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(DIGEST_ALGORITHM);
+            mac.init(digestKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class CachedCredential {
+        private final String username;
+        private final Long userId;
+        private final Object principal;
+        private final List<GrantedAuthority> authorities;
+    }
+}
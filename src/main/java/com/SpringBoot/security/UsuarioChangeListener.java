@@ -0,0 +1,31 @@
+package com.SpringBoot.security;
+
+import com.SpringBoot.domain.UsuarioP;
+import com.SpringBoot.util.AfterCommit;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+// Instantiated by Hibernate through Spring's bean container; the cache is absent in JPA-only test slices.
+public class UsuarioChangeListener {
+    private CredentialCache credentialCache;
+
+    @Autowired(required = false)
+    public void setCredentialCache(CredentialCache credentialCache) {
+        this.credentialCache = credentialCache;
+    }
+
+    // These callbacks run at flush, before commit: a login in between still reads the old row and caches it again,
+    // so the entry is evicted once more after the commit makes the change visible
+    @PostUpdate
+    @PostRemove
+    public void evictCredentials(UsuarioP usuario) {
+        if (credentialCache != null) {
+            Long id = usuario.getId();
+            String username = usuario.getUsername();
+            credentialCache.evict(id, username);
+            AfterCommit.run(() -> credentialCache.evict(id, username));
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.SpringBoot.service;
+
+import com.SpringBoot.config.CacheConfig;
+import com.SpringBoot.domain.Anime;
+import com.SpringBoot.exception.BadRequestException;
+import com.SpringBoot.mapper.AnimeMapper;
+import com.SpringBoot.repository.AnimeRepository;
+import com.SpringBoot.request.AnimePostRequestBody;
+import com.SpringBoot.request.AnimePutRequestBody;
+import com.SpringBoot.response.BulkItemResult;
+import com.SpringBoot.search.AnimeMembershipFilter;
+import com.SpringBoot.search.AnimeSearchIndex;
+import com.SpringBoot.util.AfterCommit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class AnimeBulkService {
+    private static final String NULL_ITEM = "the item cannot be Null";
+
+    private final AnimeRepository animeRepository;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final AnimeSearchIndex animeSearchIndex;
+    private final AnimeMembershipFilter animeMembershipFilter;
+    private final int batchSize;
+    private final int maxItems;
+
+    public AnimeBulkService(AnimeRepository animeRepository,
+                            EntityManager entityManager,
+                            Validator validator,
+                            AnimeSearchIndex animeSearchIndex,
+                            AnimeMembershipFilter animeMembershipFilter,
+                            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize,
+                            @Value("${anime.bulk.max-items:5000}") int maxItems) {
+        this.animeRepository = animeRepository;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.animeSearchIndex = animeSearchIndex;
+        this.animeMembershipFilter = animeMembershipFilter;
+        this.batchSize = batchSize;
+        this.maxItems = maxItems;
+    }
+
+    @Transactional
+    @CacheEvict(value = CacheConfig.ANIMES_BY_NAME, allEntries = true)
+    public List<BulkItemResult> saveAll(List<AnimePostRequestBody> animePostRequestBodies) {
+        checkSize(animePostRequestBodies);
+        List<BulkItemResult> results = new ArrayList<>(animePostRequestBodies.size());
+        List<Anime> savedAnimes = new ArrayList<>();
+        int pending = 0;
+        for (int index = 0; index < animePostRequestBodies.size(); index++) {
+            AnimePostRequestBody animePostRequestBody = animePostRequestBodies.get(index);
+            String errors = validate(animePostRequestBody);
+            if (errors != null) {
+                results.add(failed(index, null, HttpStatus.BAD_REQUEST, errors));
+                continue;
+            }
+            Anime anime = AnimeMapper.INSTANCE.toAnime(animePostRequestBody);
+            entityManager.persist(anime);
+            animeMembershipFilter.put(anime.getId(), anime.getName());
+            savedAnimes.add(anime);
+            results.add(succeeded(index, anime.getId(), HttpStatus.CREATED));
+            if (++pending % batchSize == 0) {
+                flushAndClear();
+            }
+        }
+        AfterCommit.run(() -> savedAnimes.forEach(animeSearchIndex::put));
+        return results;
+    }
+
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.ANIME_BY_ID, allEntries = true),
+            @CacheEvict(value = CacheConfig.ANIMES_BY_NAME, allEntries = true)
+    })
+    public List<BulkItemResult> replaceAll(List<AnimePutRequestBody> animePutRequestBodies) {
+        checkSize(animePutRequestBodies);
+        BulkItemResult[] results = new BulkItemResult[animePutRequestBodies.size()];
+        List<Anime> updatedAnimes = new ArrayList<>();
+        for (int from = 0; from < animePutRequestBodies.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, animePutRequestBodies.size());
+            List<Long> ids = new ArrayList<>();
+            for (int index = from; index < to; index++) {
+                if (animePutRequestBodies.get(index) != null) {
+                    ids.add(animePutRequestBodies.get(index).getId());
+                }
+            }
+            Map<Long, Anime> existing = findAllById(ids);
+            for (int index = from; index < to; index++) {
+                AnimePutRequestBody animePutRequestBody = animePutRequestBodies.get(index);
+                String errors = validate(animePutRequestBody);
+                if (errors != null) {
+                    Long id = animePutRequestBody == null ? null : animePutRequestBody.getId();
+                    results[index] = failed(index, id, HttpStatus.BAD_REQUEST, errors);
+                    continue;
+                }
+                Anime anime = existing.get(animePutRequestBody.getId());
+                if (anime == null) {
+                    results[index] = failed(index, animePutRequestBody.getId(), HttpStatus.NOT_FOUND, "Anime not Found");
+                } else {
+                    anime.setName(animePutRequestBody.getName());
+                    animeMembershipFilter.put(anime.getId(), anime.getName());
+                    updatedAnimes.add(anime);
+                    results[index] = succeeded(index, anime.getId(), HttpStatus.NO_CONTENT);
+                }
+            }
+            flushAndClear();
+        }
+        AfterCommit.run(() -> updatedAnimes.forEach(animeSearchIndex::put));
+        return Arrays.asList(results);
+    }
+
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.ANIME_BY_ID, allEntries = true),
+            @CacheEvict(value = CacheConfig.ANIMES_BY_NAME, allEntries = true)
+    })
+    public List<BulkItemResult> deleteAll(List<Long> ids) {
+        checkSize(ids);
+        List<BulkItemResult> results = new ArrayList<>(ids.size());
+        List<Long> deletedIds = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            Map<Long, Anime> existing = findAllById(chunk.stream()
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList()));
+            animeRepository.deleteInBatch(existing.values());
+            deletedIds.addAll(existing.keySet());
+            for (int offset = 0; offset < chunk.size(); offset++) {
+                Long id = chunk.get(offset);
+                if (id == null) {
+                    results.add(failed(from + offset, null, HttpStatus.BAD_REQUEST, NULL_ITEM));
+                } else {
+                    results.add(existing.containsKey(id)
+                            ? succeeded(from + offset, id, HttpStatus.NO_CONTENT)
+                            : failed(from + offset, id, HttpStatus.NOT_FOUND, "Anime not Found"));
+                }
+            }
+        }
+        AfterCommit.run(() -> deletedIds.forEach(animeSearchIndex::remove));
+        return results;
+    }
+
+    private Map<Long, Anime> findAllById(List<Long> ids) {
+        return animeRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Anime::getId, Function.identity()));
+    }
+
+    private void checkSize(List<?> items) {
+        if (items.size() > maxItems) {
+            throw new BadRequestException("A bulk request accepts at most " + maxItems + " items");
+        }
+    }
+
+    // A JSON null in the array binds as a null element; it fails alone instead of failing the whole request
+    private String validate(Object requestBody) {
+        if (requestBody == null) {
+            return NULL_ITEM;
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(requestBody);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static BulkItemResult succeeded(int index, Long id, HttpStatus status) {
+        return BulkItemResult.builder().index(index).id(id).status(status.value()).build();
+    }
+
+    private static BulkItemResult failed(int index, Long id, HttpStatus status, String errors) {
+        return BulkItemResult.builder().index(index).id(id).status(status.value()).errors(errors).build();
+    }
+}
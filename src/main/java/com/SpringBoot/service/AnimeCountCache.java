@@ -0,0 +1,42 @@
+package com.SpringBoot.service;
+
+import com.SpringBoot.repository.AnimeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+public class AnimeCountCache {
+    private final AnimeRepository animeRepository;
+    private final long refreshIntervalNanos;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile long count = -1;
+    private volatile long refreshedAt;
+
+    public AnimeCountCache(AnimeRepository animeRepository,
+                           @Value("${anime.count.refresh-interval:30s}") Duration refreshInterval) {
+        this.animeRepository = animeRepository;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+    }
+
+    // Only the first caller after the interval pays for the COUNT query; concurrent callers keep the stale value.
+    public long get() {
+        if (count < 0) {
+            refresh();
+        } else if (System.nanoTime() - refreshedAt > refreshIntervalNanos && refreshing.compareAndSet(false, true)) {
+            try {
+                refresh();
+            } finally {
+                refreshing.set(false);
+            }
+        }
+        return count;
+    }
+
+    private void refresh() {
+        count = animeRepository.count();
+        refreshedAt = System.nanoTime();
+    }
+}
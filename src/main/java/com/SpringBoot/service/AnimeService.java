@@ -1,55 +1,231 @@
 package com.SpringBoot.service;
 
+import com.SpringBoot.coalescing.Coalesced;
+import com.SpringBoot.config.CacheConfig;
+import com.SpringBoot.datasource.ReplicaReads;
 import com.SpringBoot.domain.Anime;
 import com.SpringBoot.mapper.AnimeMapper;
+import com.SpringBoot.response.CursorPageResponse;
+import com.SpringBoot.response.AnimeSearchHit;
+import com.SpringBoot.response.SliceResponse;
+import com.SpringBoot.search.AnimeMembershipFilter;
+import com.SpringBoot.search.AnimeSearchIndex;
+import com.SpringBoot.util.AfterCommit;
+import com.SpringBoot.util.AnimeCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import com.SpringBoot.exception.BadRequestException;
+import com.SpringBoot.exception.PreconditionFailedException;
 import com.SpringBoot.repository.AnimeRepository;
+import com.SpringBoot.request.AnimePatchRequestBody;
 import com.SpringBoot.request.AnimePostRequestBody;
 import com.SpringBoot.request.AnimePutRequestBody;
 
+import javax.persistence.EntityManager;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class AnimeService {
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_PAGE_SIZE = 50;
+    private static final int MAX_FUZZY_RESULTS = 50;
 
     private final AnimeRepository animeRepository;
+    private final EntityManager entityManager;
+    private final AnimeCountCache animeCountCache;
+    private final AnimeSearchIndex animeSearchIndex;
+    private final AnimeMembershipFilter animeMembershipFilter;
 
+    @Transactional(readOnly = true)
     public Page<Anime> listAll(Pageable pageable) {
         return animeRepository.findAll(pageable);
     }
 
+    @Transactional(readOnly = true)
+    public SliceResponse<Anime> listSlice(Pageable pageable, boolean withTotal) {
+        Slice<Anime> slice = animeRepository.findAllBy(pageable);
+        return SliceResponse.<Anime>builder()
+                .content(slice.getContent())
+                .number(slice.getNumber())
+                .size(slice.getSize())
+                .numberOfElements(slice.getNumberOfElements())
+                .first(slice.isFirst())
+                .last(slice.isLast())
+                .hasNext(slice.hasNext())
+                .totalElements(withTotal ? animeCountCache.get() : null)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
     public List<Anime> listAllNonPageable() {
         return animeRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageResponse<Anime> listByCursor(AnimeCursor cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<Anime> animes = cursor.getSort() == AnimeCursor.Sort.NAME
+                ? animeRepository.findPageAfterName(cursor.getName(), cursor.getId(), limit)
+                : animeRepository.findPageAfterId(cursor.getId(), limit);
+
+        boolean hasNext = animes.size() > pageSize;
+        List<Anime> content = hasNext ? animes.subList(0, pageSize) : animes;
+        String nextCursor = hasNext ? AnimeCursor.after(cursor.getSort(), content.get(pageSize - 1)).encode() : null;
+
+        return CursorPageResponse.<Anime>builder()
+                .content(content)
+                .size(pageSize)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<Anime> consumer) {
+        try (Stream<Anime> animes = animeRepository.streamAll()) {
+            animes.forEach(anime -> {
+                consumer.accept(anime);
+                entityManager.detach(anime);
+            });
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Page<Anime> searchByName(String name, Pageable pageable) {
+        String searchName = Anime.normalize(name);
+        if (searchName == null || searchName.isEmpty()) {
+            throw new BadRequestException("The search name cannot be empty");
+        }
+        String prefix = searchName.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+        Sort sort = pageable.getSort().isSorted() ? pageable.getSort() : Sort.by("searchName", "id");
+        int size = Math.min(pageable.getPageSize(), MAX_SEARCH_PAGE_SIZE);
+        return animeRepository.searchByNamePrefix(prefix, PageRequest.of(pageable.getPageNumber(), size, sort));
+    }
+
+    public List<AnimeSearchHit> fuzzySearch(String query, int limit) {
+        return animeSearchIndex.search(query, Math.min(limit, MAX_FUZZY_RESULTS));
+    }
+
+    @Coalesced
+    @Transactional(readOnly = true)
+    @Cacheable(value = CacheConfig.ANIMES_BY_NAME, unless = ReplicaReads.UNLESS_READ_FROM_REPLICA)
     public List<Anime> findByName(String name) {
+        if (!animeMembershipFilter.mightContainName(name)) {
+            return List.of();
+        }
         return animeRepository.findByName(name);
     }
 
+    @Coalesced
+    @Transactional(readOnly = true)
+    @Cacheable(value = CacheConfig.ANIME_BY_ID, unless = ReplicaReads.UNLESS_READ_FROM_REPLICA)
     public Anime findByIdOrThrowBadRequestException(long id) {
+        if (!animeMembershipFilter.mightContainId(id)) {
+            throw new BadRequestException("Anime not Found");
+        }
         return animeRepository.findById(id)
                 .orElseThrow(() -> new BadRequestException("Anime not Found"));
     }
 
+    @Coalesced
+    @Transactional(readOnly = true)
+    public Long findVersionOrThrowBadRequestException(long id) {
+        if (!animeMembershipFilter.mightContainId(id)) {
+            throw new BadRequestException("Anime not Found");
+        }
+        return animeRepository.findVersionById(id)
+                .orElseThrow(() -> new BadRequestException("Anime not Found"));
+    }
+
     @Transactional
+    @CacheEvict(value = CacheConfig.ANIMES_BY_NAME, allEntries = true)
     public Anime save(AnimePostRequestBody animePostRequestBody) {
-        return animeRepository.save(AnimeMapper.INSTANCE.toAnime(animePostRequestBody));
+        Anime savedAnime = animeRepository.save(AnimeMapper.INSTANCE.toAnime(animePostRequestBody));
+        // Before commit: a reader must never see the row while the filter still rules it out
+        animeMembershipFilter.put(savedAnime.getId(), savedAnime.getName());
+        AfterCommit.run(() -> animeSearchIndex.put(savedAnime));
+        return savedAnime;
     }
 
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.ANIME_BY_ID, key = "#id"),
+            @CacheEvict(value = CacheConfig.ANIMES_BY_NAME, allEntries = true)
+    })
     public void delete(long id) {
-        animeRepository.delete(findByIdOrThrowBadRequestException(id));
+        if (animeRepository.removeById(id) == 0) {
+            throw new BadRequestException("Anime not Found");
+        }
+        AfterCommit.run(() -> animeSearchIndex.remove(id));
     }
 
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.ANIME_BY_ID, key = "#animePutRequestBody.id"),
+            @CacheEvict(value = CacheConfig.ANIMES_BY_NAME, allEntries = true)
+    })
     public void replace(AnimePutRequestBody animePutRequestBody) {
-        Anime savedAnime = findByIdOrThrowBadRequestException(animePutRequestBody.getId());
-        Anime anime = AnimeMapper.INSTANCE.toAnime(animePutRequestBody);
-        anime.setId(savedAnime.getId());
-        animeRepository.save(anime);
+        replace(animePutRequestBody, null);
+    }
+
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.ANIME_BY_ID, key = "#animePutRequestBody.id"),
+            @CacheEvict(value = CacheConfig.ANIMES_BY_NAME, allEntries = true)
+    })
+    public void replace(AnimePutRequestBody animePutRequestBody, Long expectedVersion) {
+        updateName(animePutRequestBody.getId(), animePutRequestBody.getName(), expectedVersion);
+    }
+
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.ANIME_BY_ID, key = "#id"),
+            @CacheEvict(value = CacheConfig.ANIMES_BY_NAME, allEntries = true)
+    })
+    public void patch(long id, AnimePatchRequestBody animePatchRequestBody, Long expectedVersion) {
+        if (animePatchRequestBody.getName() == null) {
+            // Nothing to write, but a stale If-Match must still fail like it would for a name change
+            if (expectedVersion == null) {
+                if (!animeRepository.existsById(id)) {
+                    throw new BadRequestException("Anime not Found");
+                }
+                return;
+            }
+            Long version = animeRepository.findVersionById(id)
+                    .orElseThrow(() -> new BadRequestException("Anime not Found"));
+            if (!version.equals(expectedVersion)) {
+                throw new PreconditionFailedException("Anime was modified, fetch it again before replacing it");
+            }
+            return;
+        }
+        updateName(id, animePatchRequestBody.getName(), expectedVersion);
+    }
+
+    // One UPDATE statement; the affected row count tells a missing anime apart from a successful write.
+    private void updateName(long id, String name, Long expectedVersion) {
+        int updated = expectedVersion == null
+                ? animeRepository.updateName(id, name, Anime.normalize(name))
+                : animeRepository.updateNameIfVersion(id, expectedVersion, name, Anime.normalize(name));
+        if (updated == 0) {
+            if (expectedVersion != null && animeRepository.existsById(id)) {
+                throw new PreconditionFailedException("Anime was modified, fetch it again before replacing it");
+            }
+            throw new BadRequestException("Anime not Found");
+        }
+        animeMembershipFilter.put(id, name);
+        AfterCommit.run(() -> animeSearchIndex.put(Anime.builder().id(id).name(name).build()));
     }
 }
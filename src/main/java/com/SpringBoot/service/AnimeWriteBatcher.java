@@ -0,0 +1,194 @@
+package com.SpringBoot.service;
+
+import com.SpringBoot.datasource.ReadYourWrites;
+import com.SpringBoot.domain.Anime;
+import com.SpringBoot.request.AnimePostRequestBody;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Group commit for single anime saves. Callers queue their save and block until a flusher thread has inserted it
+ * together with whatever else arrived within anime.write-batch.max-delay, in one transaction; they are only
+ * released after that transaction commits, so a 201 still means the row is durable. A caller gives up after
+ * anime.write-batch.timeout; its save may still commit if the flusher had already taken it. Off unless
+ * anime.write-batch.enabled is set.
+ */
+@Service
+@Log4j2
+public class AnimeWriteBatcher implements DisposableBean {
+    private final AnimeService animeService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<ReadYourWrites> readYourWrites;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final Duration timeout;
+    private final BlockingQueue<PendingSave> queue;
+    private final DistributionSummary batchSizes;
+    private final Thread flusher;
+    private volatile boolean running;
+
+    public AnimeWriteBatcher(AnimeService animeService,
+                             PlatformTransactionManager transactionManager,
+                             ObjectProvider<ReadYourWrites> readYourWrites,
+                             MeterRegistry meterRegistry,
+                             @Value("${anime.write-batch.enabled:false}") boolean enabled,
+                             @Value("${anime.write-batch.queue-capacity:1000}") int queueCapacity,
+                             @Value("${anime.write-batch.max-batch-size:50}") int maxBatchSize,
+                             @Value("${anime.write-batch.max-delay:5ms}") Duration maxDelay,
+                             @Value("${anime.write-batch.timeout:5s}") Duration timeout) {
+        this.animeService = animeService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readYourWrites = readYourWrites;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.timeout = timeout;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSizes = DistributionSummary.builder("anime.write.batch.size")
+                .description("Anime saves committed per transaction")
+                .register(meterRegistry);
+        Gauge.builder("anime.write.queue.size", queue, BlockingQueue::size)
+                .description("Anime saves waiting for the next group commit")
+                .register(meterRegistry);
+        this.flusher = new Thread(this::flushLoop, "anime-write-batcher");
+        this.flusher.setDaemon(true);
+        if (enabled) {
+            running = true;
+            flusher.start();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // A full queue is rejected at once and a save that does not commit in time times out; RestExceptionHandler
+    // answers both with 503
+    public Anime save(AnimePostRequestBody animePostRequestBody) throws TimeoutException {
+        PendingSave pending = new PendingSave(animePostRequestBody);
+        if (!running || !queue.offer(pending)) {
+            throw new RejectedExecutionException("The anime write queue is full");
+        }
+        // destroy() may have drained the queue between the check and the offer, leaving nobody to take this save
+        if (!running && queue.remove(pending)) {
+            throw new RejectedExecutionException("The anime write queue is shut down");
+        }
+        Anime saved;
+        try {
+            saved = pending.result.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                // Still queued means it will never be written
+                queue.remove(pending);
+                throw new TimeoutException("The anime save did not commit within " + timeout);
+            }
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+        // The commit ran on the flusher thread, which has no request to make sticky
+        readYourWrites.ifAvailable(ReadYourWrites::markWrite);
+        return saved;
+    }
+
+    private void flushLoop() {
+        List<PendingSave> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException e) {
+                running = false;
+            }
+            try {
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                }
+            } catch (Throwable e) {
+                // Errors included: the flusher must survive, or every later caller would wait for nothing
+                log.error("Anime write batch failed unexpectedly", e);
+                batch.forEach(pending -> pending.result.completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // Waits for a first save, then gathers more until the batch is full or max-delay has passed since that first one
+    private void collect(List<PendingSave> batch) throws InterruptedException {
+        PendingSave first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + maxDelayNanos;
+        queue.drainTo(batch, maxBatchSize - batch.size());
+        while (batch.size() < maxBatchSize) {
+            PendingSave next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<PendingSave> batch) {
+        List<Anime> saved;
+        try {
+            saved = transactionTemplate.execute(status -> {
+                List<Anime> animes = new ArrayList<>(batch.size());
+                batch.forEach(pending -> animes.add(animeService.save(pending.request)));
+                return animes;
+            });
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result.completeExceptionally(e);
+                return;
+            }
+            // One bad row rolls back the whole group; redo each save alone so only that caller sees the error
+            batch.forEach(pending -> flush(List.of(pending)));
+            return;
+        }
+        batchSizes.record(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).result.complete(saved.get(i));
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+        RejectedExecutionException shutdown = new RejectedExecutionException("The anime write queue is shut down");
+        PendingSave pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result.completeExceptionally(shutdown);
+        }
+    }
+
+    private static final class PendingSave {
+        private final AnimePostRequestBody request;
+        private final CompletableFuture<Anime> result = new CompletableFuture<>();
+
+        private PendingSave(AnimePostRequestBody request) {
+            this.request = request;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.SpringBoot.util;
+
+import com.SpringBoot.domain.Anime;
+import com.SpringBoot.exception.BadRequestException;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class AnimeCursor {
+    public enum Sort {ID, NAME}
+
+    private static final String SEPARATOR = "|";
+
+    private final Sort sort;
+    private final long id;
+    private final String name;
+
+    public static AnimeCursor first(Sort sort) {
+        return new AnimeCursor(sort, 0L, "");
+    }
+
+    public static AnimeCursor after(Sort sort, Anime anime) {
+        return new AnimeCursor(sort, anime.getId(), sort == Sort.NAME ? anime.getName() : "");
+    }
+
+    public static AnimeCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\|", 3);
+            Sort sort = Sort.valueOf(parts[0]);
+            long id = Long.parseLong(parts[1]);
+            String name = sort == Sort.NAME ? parts[2] : "";
+            return new AnimeCursor(sort, id, name);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = sort.name() + SEPARATOR + id + SEPARATOR + name;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
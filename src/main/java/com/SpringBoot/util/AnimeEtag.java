@@ -0,0 +1,47 @@
+package com.SpringBoot.util;
+
+import com.SpringBoot.domain.Anime;
+
+// Strong ETags of the form "<id>-<version>", derived from the optimistic lock version of an anime.
+public final class AnimeEtag {
+    private AnimeEtag() {
+    }
+
+    public static String of(Anime anime) {
+        return of(anime.getId(), anime.getVersion());
+    }
+
+    public static String of(long id, Long version) {
+        return "\"" + id + "-" + (version == null ? 0 : version) + "\"";
+    }
+
+    public static boolean matches(String header, String etag) {
+        if (header == null) {
+            return false;
+        }
+        for (String candidate : header.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Returns the version an If-Match header expects for the given anime, or null when no header was sent.
+    public static Long expectedVersion(String ifMatch, long id) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String prefix = "\"" + id + "-";
+        String etag = ifMatch.trim();
+        if (!etag.startsWith(prefix) || !etag.endsWith("\"")) {
+            return -1L;
+        }
+        try {
+            return Long.parseLong(etag.substring(prefix.length(), etag.length() - 1));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+}
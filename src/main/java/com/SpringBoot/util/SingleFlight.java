@@ -0,0 +1,53 @@
+package com.SpringBoot.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Collapses concurrent calls for the same key into one: the first caller runs the call, callers arriving while it
+ * is in flight wait for and share its result or its exception. Nothing is remembered once the call returns.
+ */
+public final class SingleFlight<K> {
+    private final ConcurrentMap<K, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    @FunctionalInterface
+    public interface Call<V> {
+        V call() throws Throwable;
+    }
+
+    public <V> V execute(K key, Call<V> call) throws Throwable {
+        return execute(key, call, () -> {
+        });
+    }
+
+    // onShared runs on callers that joined another caller's flight instead of running their own
+    @SuppressWarnings("unchecked")
+    public <V> V execute(K key, Call<V> call, Runnable onShared) throws Throwable {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            onShared.run();
+            try {
+                return (V) leader.join();
+            } catch (CompletionException e) {
+                throw e.getCause();
+            }
+        }
+        try {
+            V result = call.call();
+            flight.complete(result);
+            return result;
+        } catch (Throwable e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+}
@@ -22,19 +22,27 @@ public class PageableResponse<T> extends PageImpl<T> {
     public PageableResponse(@JsonProperty("content") List<T> content,
                             @JsonProperty("number") int number,
                             @JsonProperty("size") int size,
-                            @JsonProperty("totalElements") int totalElements,
+                            @JsonProperty("totalElements") Long totalElements,
                             @JsonProperty("last") boolean last,
                             @JsonProperty("first") boolean first,
-                            @JsonProperty("totalPages") int totalPages,
+                            @JsonProperty("totalPages") Integer totalPages,
                             @JsonProperty("numberOfElements") int numberOfElements,
+                            @JsonProperty("hasNext") Boolean hasNext,
                             @JsonProperty("pageable") JsonNode pageable,
                             @JsonProperty("sort") JsonNode sort) {
-        super(content, PageRequest.of(number, size), totalElements);
+        super(content, PageRequest.of(number, Math.max(size, 1)),
+                totalElements != null ? totalElements : estimateTotal(content, number, size, hasNext));
 
         this.last = last;
         this.first = first;
-        this.totalPages = totalPages;
+        this.totalPages = totalPages != null ? totalPages : super.getTotalPages();
         this.numberOfElements = numberOfElements;
 
     }
-}
\ No newline at end of file
+
+    // Compact slice envelopes carry no totals, only whether another page exists.
+    private static <T> long estimateTotal(List<T> content, int number, int size, Boolean hasNext) {
+        long seen = (long) number * size + (content == null ? 0 : content.size());
+        return Boolean.TRUE.equals(hasNext) ? seen + 1 : seen;
+    }
+}
@@ -0,0 +1,23 @@
+package benchmark;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+
+// Anime as it was mapped before pooled ids, kept only as the insert benchmark baseline. It lives outside
+// com.SpringBoot so no other test context scans it and creates its table.
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+public class IdentityAnime {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private String name;
+}
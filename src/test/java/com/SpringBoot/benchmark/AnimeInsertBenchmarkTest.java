@@ -0,0 +1,71 @@
+package com.SpringBoot.benchmark;
+
+import benchmark.IdentityAnime;
+import com.SpringBoot.domain.Anime;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+
+import javax.persistence.EntityManager;
+import java.util.function.IntFunction;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.SQL=INFO"
+})
+@Tag("benchmark")
+@DisplayName("insert throughput of identity ids versus pooled ids")
+@Log4j2
+class AnimeInsertBenchmarkTest {
+    private static final int WARMUP_ROWS = 5_000;
+    private static final int MEASURED_ROWS = 20_000;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @TestConfiguration
+    @EntityScan(basePackageClasses = {Anime.class, IdentityAnime.class})
+    static class Config {
+    }
+
+    @Test
+    @DisplayName("identity ids (before)")
+    void identityIds() {
+        run("identity", i -> new IdentityAnime(null, "anime " + i));
+    }
+
+    @Test
+    @DisplayName("pooled ids (after)")
+    void pooledIds() {
+        run("pooled", i -> Anime.builder().name("anime " + i).build());
+    }
+
+    private void run(String label, IntFunction<Object> factory) {
+        insert(WARMUP_ROWS, factory);
+        long start = System.nanoTime();
+        insert(MEASURED_ROWS, factory);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        log.info("{} ids: {} rows in {} s ({} rows/s)", label, MEASURED_ROWS,
+                String.format("%.3f", seconds), String.format("%.0f", MEASURED_ROWS / seconds));
+    }
+
+    private void insert(int rows, IntFunction<Object> factory) {
+        for (int i = 0; i < rows; i++) {
+            entityManager.persist(factory.apply(i));
+            if ((i + 1) % BATCH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
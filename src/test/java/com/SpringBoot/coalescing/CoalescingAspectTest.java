@@ -0,0 +1,127 @@
+package com.SpringBoot.coalescing;
+
+import com.SpringBoot.datasource.ReadYourWrites;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@ExtendWith(SpringExtension.class)
+class CoalescingAspectTest {
+    @Mock
+    private ProceedingJoinPoint joinPointMock;
+    @Mock
+    private MethodSignature signatureMock;
+    @Mock
+    private ObjectProvider<ReadYourWrites> readYourWritesProviderMock;
+    @Mock
+    private ReadYourWrites readYourWritesMock;
+    private SimpleMeterRegistry meterRegistry;
+    private CoalescingAspect coalescingAspect;
+    private ExecutorService callers;
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CountDownLatch bothEntered = new CountDownLatch(2);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws Throwable {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescingAspect = new CoalescingAspect(readYourWritesProviderMock, meterRegistry);
+        callers = Executors.newFixedThreadPool(2);
+
+        BDDMockito.when(readYourWritesProviderMock.getIfAvailable()).thenReturn(readYourWritesMock);
+        BDDMockito.when(joinPointMock.getSignature()).thenReturn(signatureMock);
+        BDDMockito.when(signatureMock.getMethod()).thenReturn(Object.class.getMethod("toString"));
+        BDDMockito.when(joinPointMock.getArgs()).thenReturn(new Object[]{1L});
+        BDDMockito.when(joinPointMock.proceed()).thenAnswer(invocation -> {
+            calls.incrementAndGet();
+            bothEntered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "anime";
+        });
+    }
+
+    @AfterEach
+    void tearDown(){
+        release.countDown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("coalesce lets concurrent identical calls share one execution")
+    void coalesce_SharesOneExecution_WhenCallsAreIdentical() throws Exception {
+        Future<Object> first = callers.submit(() -> call(false));
+        Future<Object> second = callers.submit(() -> call(false));
+        awaitSharedCall();
+        release.countDown();
+
+        Assertions.assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("anime");
+        Assertions.assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("anime");
+        Assertions.assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("coalesce runs the call alone when the caller is already in a transaction")
+    void coalesce_RunsAlone_WhenCallerIsInTransaction() throws Exception {
+        Future<Object> first = callers.submit(() -> call(true));
+        Future<Object> second = callers.submit(() -> call(true));
+
+        Assertions.assertThat(bothEntered.await(5, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+        Assertions.assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("anime");
+        Assertions.assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("anime");
+        Assertions.assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("coalesce runs the call alone when the caller is sticky to the primary")
+    void coalesce_RunsAlone_WhenCallerIsSticky() throws Exception {
+        BDDMockito.when(readYourWritesMock.isSticky()).thenReturn(true);
+
+        Future<Object> first = callers.submit(() -> call(false));
+        Future<Object> second = callers.submit(() -> call(false));
+
+        Assertions.assertThat(bothEntered.await(5, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+        Assertions.assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("anime");
+        Assertions.assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("anime");
+        Assertions.assertThat(calls).hasValue(2);
+    }
+
+    private Object call(boolean inTransaction) throws Exception {
+        TransactionSynchronizationManager.setActualTransactionActive(inTransaction);
+        try {
+            return coalescingAspect.coalesce(joinPointMock);
+        } catch (Exception e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+    }
+
+    private void awaitSharedCall() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("anime.coalesced").counter().count() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.SpringBoot.controller;
+
+import com.SpringBoot.datasource.ReadYourWrites;
+import com.SpringBoot.domain.Anime;
+import com.SpringBoot.request.AnimePostRequestBody;
+import com.SpringBoot.service.AnimeService;
+import com.SpringBoot.util.AnimeCreator;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+@ExtendWith(SpringExtension.class)
+class AnimeAsyncControllerTest {
+    @Mock
+    private AnimeService animeServiceMock;
+    @Mock
+    private ObjectProvider<ReadYourWrites> readYourWritesProviderMock;
+    @Mock
+    private ReadYourWrites readYourWritesMock;
+    private ThreadPoolTaskExecutor executor;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp(){
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.initialize();
+        release = new CountDownLatch(1);
+        BDDMockito.doAnswer(invocation -> {
+            invocation.<Consumer<ReadYourWrites>>getArgument(0).accept(readYourWritesMock);
+            return null;
+        }).when(readYourWritesProviderMock).ifAvailable(ArgumentMatchers.any());
+    }
+
+    @AfterEach
+    void tearDown(){
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("findById completes with the anime on the executor when successful")
+    void findById_CompletesWithAnime_WhenSuccessful() throws Exception {
+        BDDMockito.when(animeServiceMock.findByIdOrThrowBadRequestException(ArgumentMatchers.anyLong()))
+                .thenReturn(AnimeCreator.createValidAnime());
+        AnimeAsyncController controller = new AnimeAsyncController(animeServiceMock, executor, Duration.ofSeconds(5), readYourWritesProviderMock);
+
+        ResponseEntity<Anime> entity = controller.findById(1).get();
+
+        Assertions.assertThat(entity.getBody()).isEqualTo(AnimeCreator.createValidAnime());
+    }
+
+    @Test
+    @DisplayName("findById is rejected on the calling thread when the executor is saturated")
+    void findById_IsRejected_WhenExecutorIsSaturated() {
+        blockExecutorThread();
+        AnimeAsyncController controller = new AnimeAsyncController(animeServiceMock, executor, Duration.ofSeconds(5), readYourWritesProviderMock);
+
+        Assertions.assertThatThrownBy(() -> controller.findById(1))
+                .isInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    @DisplayName("findById completes with TimeoutException when the service is slower than the timeout")
+    void findById_TimesOut_WhenServiceIsSlow() {
+        BDDMockito.when(animeServiceMock.findByIdOrThrowBadRequestException(ArgumentMatchers.anyLong()))
+                .thenAnswer(invocation -> {
+                    release.await();
+                    return AnimeCreator.createValidAnime();
+                });
+        AnimeAsyncController controller = new AnimeAsyncController(animeServiceMock, executor, Duration.ofMillis(50), readYourWritesProviderMock);
+
+        CompletableFuture<ResponseEntity<Anime>> future = controller.findById(1);
+
+        Assertions.assertThatThrownBy(future::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    @DisplayName("save marks the write for read-your-writes on the request thread, not the executor's")
+    void save_MarksWriteOnRequestThread_WhenSuccessful() throws Exception {
+        BDDMockito.when(animeServiceMock.save(ArgumentMatchers.any(AnimePostRequestBody.class)))
+                .thenReturn(AnimeCreator.createValidAnime());
+        AtomicReference<Thread> markedOn = new AtomicReference<>();
+        BDDMockito.doAnswer(invocation -> {
+            markedOn.set(Thread.currentThread());
+            return null;
+        }).when(readYourWritesMock).markWrite();
+        AnimeAsyncController controller = new AnimeAsyncController(animeServiceMock, executor, Duration.ofSeconds(5), readYourWritesProviderMock);
+
+        controller.save(AnimePostRequestBody.builder().name("Async").build()).get();
+
+        Assertions.assertThat(markedOn).hasValue(Thread.currentThread());
+    }
+
+    private void blockExecutorThread() {
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+}
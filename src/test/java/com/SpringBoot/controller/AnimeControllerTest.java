@@ -16,12 +16,15 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import com.SpringBoot.request.AnimePatchRequestBody;
 import com.SpringBoot.request.AnimePostRequestBody;
 import com.SpringBoot.request.AnimePutRequestBody;
 import com.SpringBoot.service.AnimeService;
+import com.SpringBoot.service.AnimeWriteBatcher;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeoutException;
 
 @ExtendWith(SpringExtension.class)
 public class AnimeControllerTest {
@@ -29,6 +32,8 @@ public class AnimeControllerTest {
     private AnimeController animeController;
     @Mock
     private AnimeService animeServiceMock;
+    @Mock
+    private AnimeWriteBatcher animeWriteBatcherMock;
 
     @BeforeEach
     void setUp(){
@@ -51,6 +56,11 @@ public class AnimeControllerTest {
 
         BDDMockito.doNothing().when(animeServiceMock).replace(ArgumentMatchers.any(AnimePutRequestBody.class));
 
+        BDDMockito.doNothing().when(animeServiceMock).replace(ArgumentMatchers.any(AnimePutRequestBody.class), ArgumentMatchers.any());
+
+        BDDMockito.when(animeServiceMock.findVersionOrThrowBadRequestException(ArgumentMatchers.anyLong()))
+                .thenReturn(0L);
+
         BDDMockito.doNothing().when(animeServiceMock).delete(ArgumentMatchers.anyLong());
 
     }
@@ -88,13 +98,24 @@ public class AnimeControllerTest {
     void findByIdReturnsListOfAnimesWhenSuccessful(){
         Long idExpected = AnimeCreator.createValidAnime().getId();
 
-        Anime anime = animeController.findById(1).getBody();
+        Anime anime = animeController.findById(1, null).getBody();
 
         Assertions.assertThat(anime)
                 .isNotNull();
 
         Assertions.assertThat(anime.getId()).isNotNull().isEqualTo(idExpected);
     }
+    @Test
+    @DisplayName("find by id returns not modified when the ETag still matches")
+    void findByIdReturnsNotModifiedWhenEtagMatches(){
+        ResponseEntity<Anime> entity = animeController.findById(1, "\"1-0\"");
+
+        Assertions.assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        Assertions.assertThat(entity.getBody()).isNull();
+        Assertions.assertThat(entity.getHeaders().getETag()).isEqualTo("\"1-0\"");
+        BDDMockito.verify(animeServiceMock, Mockito.never()).findByIdOrThrowBadRequestException(ArgumentMatchers.anyLong());
+    }
+
     @Test
     @DisplayName("find by Name returns list of anime when successful")
     void findByNameReturnsListOfAnimesWhenSuccessful(){
@@ -124,7 +145,7 @@ public class AnimeControllerTest {
     }
     @Test
     @DisplayName("Save return anime when successful")
-    void saveReturnAnimeWhenSuccessful(){
+    void saveReturnAnimeWhenSuccessful() throws TimeoutException {
         Anime anime = animeController.save(AnimePostRequestBodyCreate.createAnimeToBeSaved())
                 .getBody();
 
@@ -133,18 +154,42 @@ public class AnimeControllerTest {
                 .isEqualTo(AnimeCreator.createValidAnime());
     }
     @Test
+    @DisplayName("Save goes through the write batcher when batching is enabled")
+    void saveUsesWriteBatcherWhenEnabled() throws TimeoutException {
+        BDDMockito.when(animeWriteBatcherMock.isEnabled()).thenReturn(true);
+        BDDMockito.when(animeWriteBatcherMock.save(ArgumentMatchers.any(AnimePostRequestBody.class)))
+                .thenReturn(AnimeCreator.createValidAnime());
+
+        ResponseEntity<Anime> entity = animeController.save(AnimePostRequestBodyCreate.createAnimeToBeSaved());
+
+        Assertions.assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        Assertions.assertThat(entity.getBody()).isEqualTo(AnimeCreator.createValidAnime());
+        BDDMockito.verify(animeServiceMock, Mockito.never()).save(ArgumentMatchers.any(AnimePostRequestBody.class));
+    }
+    @Test
     @DisplayName("Replace list of anime when successful")
     void replaceUpdateAnimeWhenSuccessful(){
 
         Assertions.assertThatCode(() ->         animeController.replace(AnimePutRequestBodyCreate
-                .createAnimeToBeUpdate())).doesNotThrowAnyException();
+                .createAnimeToBeUpdate(), null)).doesNotThrowAnyException();
 
-        ResponseEntity<Void> entity = animeController.replace(AnimePutRequestBodyCreate.createAnimeToBeUpdate());
+        ResponseEntity<Void> entity = animeController.replace(AnimePutRequestBodyCreate.createAnimeToBeUpdate(), null);
 
         Assertions.assertThat(entity).isNotNull();
         Assertions.assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
 
     }
+    @Test
+    @DisplayName("Patch anime when successful")
+    void patchAnimeWhenSuccessful(){
+        ResponseEntity<Void> entity = animeController.patch(1, AnimePatchRequestBody.builder().name("Overlord").build(), null);
+
+        Assertions.assertThat(entity).isNotNull();
+        Assertions.assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        BDDMockito.verify(animeServiceMock).patch(ArgumentMatchers.eq(1L), ArgumentMatchers.any(AnimePatchRequestBody.class),
+                ArgumentMatchers.isNull());
+    }
+
     @Test
     @DisplayName("Delete anime when successful")
     void DeleteAnimeWhenSuccessful(){
@@ -0,0 +1,154 @@
+package com.SpringBoot.datasource;
+
+import com.SpringBoot.config.CacheConfig;
+import com.SpringBoot.domain.Anime;
+import com.SpringBoot.domain.UsuarioP;
+import com.SpringBoot.repository.UsuarioRepository;
+import com.SpringBoot.request.AnimePostRequestBody;
+import com.SpringBoot.security.CredentialCache;
+import com.SpringBoot.service.AnimeService;
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.persistence.EntityManagerFactory;
+
+// The replica is the primary's own database, so it never lags; what matters here is which pool served each read
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaReadCachingTest.URL,
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "anime.datasource.replicas[0].url=" + ReplicaReadCachingTest.URL,
+        "anime.datasource.replicas[0].username=root",
+        "anime.datasource.replicas[0].password=root"
+})
+@DirtiesContext
+class ReplicaReadCachingTest {
+    static final String URL = "jdbc:h2:mem:replica-read-caching;DB_CLOSE_DELAY=-1";
+    private static final String PASSWORD = "2233";
+    private static final String ENCODED_PASSWORD = "{bcrypt}$2a$10$UQ7udcClmm/0tK9cjm2CEujXND1mOENLH4pLSji/qZOikIeu9tfF6";
+
+    @Autowired
+    private AnimeService animeService;
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+    @Autowired
+    private AuthenticationManager authenticationManager;
+    @Autowired
+    private CredentialCache credentialCache;
+    @Autowired
+    private ReadYourWrites readYourWrites;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    private Cache animeById;
+    private Cache animesByName;
+
+    @BeforeEach
+    void setUp(){
+        animeById = cacheManager.getCache(CacheConfig.ANIME_BY_ID);
+        animesByName = cacheManager.getCache(CacheConfig.ANIMES_BY_NAME);
+    }
+
+    @AfterEach
+    void tearDown(){
+        RequestContextHolder.resetRequestAttributes();
+        ReplicaReads.reset();
+    }
+
+    @Test
+    @DisplayName("findByIdOrThrowBadRequestException reads from the replica and leaves the result uncached")
+    void findById_ReadsFromReplica_WithoutCaching(){
+        Anime saved = animeService.save(AnimePostRequestBody.builder().name("Replica by id").build());
+        evictSecondLevelCache();
+
+        Anime found = animeService.findByIdOrThrowBadRequestException(saved.getId());
+
+        Assertions.assertThat(found.getName()).isEqualTo("Replica by id");
+        Assertions.assertThat(ReplicaReads.wereUsed()).isTrue();
+        Assertions.assertThat(animeById.get(saved.getId())).isNull();
+    }
+
+    @Test
+    @DisplayName("findByName reads from the replica and leaves the result uncached")
+    void findByName_ReadsFromReplica_WithoutCaching(){
+        animeService.save(AnimePostRequestBody.builder().name("Replica by name").build());
+        evictSecondLevelCache();
+
+        Assertions.assertThat(animeService.findByName("Replica by name")).hasSize(1);
+
+        Assertions.assertThat(ReplicaReads.wereUsed()).isTrue();
+        Assertions.assertThat(animesByName.get("Replica by name")).isNull();
+    }
+
+    @Test
+    @DisplayName("findByIdOrThrowBadRequestException caches what a client that just wrote reads from the primary")
+    void findById_CachesPrimaryRead_WhenCallerIsSticky(){
+        Anime saved = animeService.save(AnimePostRequestBody.builder().name("Primary by id").build());
+        evictSecondLevelCache();
+        stickToPrimary();
+
+        animeService.findByIdOrThrowBadRequestException(saved.getId());
+
+        Assertions.assertThat(ReplicaReads.wereUsed()).isFalse();
+        Assertions.assertThat(animeById.get(saved.getId())).isNotNull();
+    }
+
+    @Test
+    @DisplayName("authenticate checks a user read from the replica without caching the credential")
+    void authenticate_ReadsUserFromReplica_WithoutCachingCredential(){
+        saveUser("replica-user");
+        evictSecondLevelCache();
+
+        Assertions.assertThat(authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken("replica-user", PASSWORD)).isAuthenticated()).isTrue();
+
+        Assertions.assertThat(credentialCache.get("replica-user", PASSWORD)).isNull();
+    }
+
+    @Test
+    @DisplayName("authenticate caches the credential of a user read from the primary")
+    void authenticate_CachesCredential_WhenUserIsReadFromPrimary(){
+        saveUser("primary-user");
+        evictSecondLevelCache();
+        stickToPrimary();
+
+        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken("primary-user", PASSWORD));
+
+        Assertions.assertThat(credentialCache.get("primary-user", PASSWORD)).isNotNull();
+    }
+
+    private void saveUser(String userName) {
+        usuarioRepository.save(UsuarioP.builder()
+                .name(userName)
+                .userName(userName)
+                .password(ENCODED_PASSWORD)
+                .authorities("ROLE_USER")
+                .build());
+    }
+
+    // Hibernate's caches only ever hold primary reads, and a hit there would hide which pool the lookup reached
+    private void evictSecondLevelCache() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    private void stickToPrimary() {
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest(), new MockHttpServletResponse()));
+        readYourWrites.markWrite();
+    }
+}
@@ -0,0 +1,227 @@
+package com.SpringBoot.datasource;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.servlet.http.Cookie;
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@ExtendWith(SpringExtension.class)
+class ReplicaRoutingDataSourceTest {
+    private DataSource primary;
+    private DataSource replica;
+    private ReplicaRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp(){
+        primary = database("primary");
+        replica = database("replica");
+        response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), response));
+        route(replica);
+    }
+
+    @AfterEach
+    void tearDown(){
+        routingDataSource.destroy();
+        RequestContextHolder.resetRequestAttributes();
+        ReplicaReads.reset();
+    }
+
+    @Test
+    @DisplayName("read-only transactions go to the replica and read-write transactions to the primary")
+    void routesReadOnlyToReplicaAndReadWriteToPrimary(){
+        Assertions.assertThat(readOnly.execute(status -> node())).isEqualTo("replica");
+        Assertions.assertThat(readWrite.execute(status -> node())).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("reads stay on the primary for the rest of the request and via cookie after a committed write")
+    void readsStayOnPrimaryAfterWrite(){
+        readWrite.execute(status -> jdbcTemplate.update("update node set name = name"));
+
+        Assertions.assertThat(readOnly.execute(status -> node())).isEqualTo("primary");
+        Cookie cookie = response.getCookie(ReadYourWrites.COOKIE_NAME);
+        Assertions.assertThat(cookie).isNotNull();
+
+        MockHttpServletRequest nextRequest = new MockHttpServletRequest();
+        nextRequest.setCookies(cookie);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(nextRequest, new MockHttpServletResponse()));
+        Assertions.assertThat(readOnly.execute(status -> node())).isEqualTo("primary");
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), new MockHttpServletResponse()));
+        Assertions.assertThat(readOnly.execute(status -> node())).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("read-only transactions fall back to the primary when the replica fails its health check")
+    void readOnlyFallsBackToPrimaryWhenReplicaIsDown() throws SQLException {
+        routingDataSource.destroy();
+        DataSource downReplica = Mockito.mock(DataSource.class);
+        BDDMockito.when(downReplica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        route(downReplica);
+
+        Assertions.assertThat(routingDataSource.isHealthy("replica-0")).isFalse();
+        Assertions.assertThat(readOnly.execute(status -> node())).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("JPA transactions with delayed connection acquisition route like plain JDBC ones")
+    void routesJpaTransactionsWithDelayedAcquisition(){
+        EntityManagerFactory entityManagerFactory = entityManagerFactory();
+        try {
+            JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+            EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+            TransactionTemplate jpaReadWrite = new TransactionTemplate(transactionManager);
+            TransactionTemplate jpaReadOnly = new TransactionTemplate(transactionManager);
+            jpaReadOnly.setReadOnly(true);
+
+            Assertions.assertThat(jpaReadOnly.execute(status -> node(entityManager))).isEqualTo("replica");
+
+            boolean previous = PrimaryReads.enter();
+            try {
+                Assertions.assertThat(jpaReadOnly.execute(status -> node(entityManager))).isEqualTo("primary");
+            } finally {
+                PrimaryReads.exit(previous);
+            }
+
+            jpaReadWrite.execute(status -> entityManager.createNativeQuery("update node set name = name").executeUpdate());
+            Assertions.assertThat(jpaReadOnly.execute(status -> node(entityManager))).isEqualTo("primary");
+        } finally {
+            entityManagerFactory.close();
+        }
+    }
+
+    @Test
+    @DisplayName("replica-bound JPA transactions may read but not fill Hibernate's caches")
+    void replicaBoundJpaTransactionsDoNotPutIntoCaches(){
+        EntityManagerFactory entityManagerFactory = entityManagerFactory();
+        try {
+            ReplicaAwareJpaTransactionManager transactionManager =
+                    new ReplicaAwareJpaTransactionManager(entityManagerFactory, routingDataSource);
+            EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+            TransactionTemplate jpaReadWrite = new TransactionTemplate(transactionManager);
+            TransactionTemplate jpaReadOnly = new TransactionTemplate(transactionManager);
+            jpaReadOnly.setReadOnly(true);
+
+            Assertions.assertThat(jpaReadOnly.execute(status -> cacheMode(entityManager))).isEqualTo(CacheMode.GET);
+
+            boolean previous = PrimaryReads.enter();
+            try {
+                Assertions.assertThat(jpaReadOnly.execute(status -> cacheMode(entityManager))).isEqualTo(CacheMode.NORMAL);
+            } finally {
+                PrimaryReads.exit(previous);
+            }
+            Assertions.assertThat(jpaReadWrite.execute(status -> cacheMode(entityManager))).isEqualTo(CacheMode.NORMAL);
+        } finally {
+            entityManagerFactory.close();
+        }
+    }
+
+    @Test
+    @DisplayName("a read served by a replica is recorded until the next transaction begins")
+    void recordsReplicaReadsUntilNextTransaction(){
+        EntityManagerFactory entityManagerFactory = entityManagerFactory();
+        try {
+            ReplicaAwareJpaTransactionManager transactionManager =
+                    new ReplicaAwareJpaTransactionManager(entityManagerFactory, routingDataSource);
+            EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+            TransactionTemplate jpaReadWrite = new TransactionTemplate(transactionManager);
+            TransactionTemplate jpaReadOnly = new TransactionTemplate(transactionManager);
+            jpaReadOnly.setReadOnly(true);
+
+            Assertions.assertThat(jpaReadOnly.execute(status -> node(entityManager))).isEqualTo("replica");
+            Assertions.assertThat(ReplicaReads.wereUsed()).isTrue();
+
+            Assertions.assertThat(jpaReadWrite.execute(status -> node(entityManager))).isEqualTo("primary");
+            Assertions.assertThat(ReplicaReads.wereUsed()).isFalse();
+
+            Assertions.assertThat(jpaReadOnly.execute(status -> node(entityManager))).isEqualTo("primary");
+            Assertions.assertThat(ReplicaReads.wereUsed()).isFalse();
+        } finally {
+            entityManagerFactory.close();
+        }
+    }
+
+    private static CacheMode cacheMode(EntityManager entityManager) {
+        return entityManager.unwrap(Session.class).getCacheMode();
+    }
+
+    // Same connection handling as production: Hibernate takes the connection at the first statement, not at begin
+    private EntityManagerFactory entityManagerFactory() {
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(new LazyConnectionDataSourceProxy(routingDataSource));
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setPackagesToScan(ReplicaRoutingDataSourceTest.class.getPackageName());
+        factoryBean.setJpaPropertyMap(Map.of(
+                "hibernate.connection.handling_mode", "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION",
+                "hibernate.dialect", "org.hibernate.dialect.H2Dialect",
+                "hibernate.temp.use_jdbc_metadata_defaults", "false"));
+        factoryBean.afterPropertiesSet();
+        return factoryBean.getObject();
+    }
+
+    private static String node(EntityManager entityManager) {
+        return (String) entityManager.createNativeQuery("select name from node").getSingleResult();
+    }
+
+    private void route(DataSource replicaDataSource) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", replicaDataSource);
+        routingDataSource = new ReplicaRoutingDataSource(primary, replicas,
+                new ReadYourWrites(Duration.ofSeconds(5)), Duration.ofMinutes(1));
+        routingDataSource.afterPropertiesSet();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists node (name varchar(20))");
+        jdbcTemplate.update("delete from node");
+        jdbcTemplate.update("insert into node (name) values (?)", name);
+        return dataSource;
+    }
+}
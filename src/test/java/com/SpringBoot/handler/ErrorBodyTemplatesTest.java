@@ -0,0 +1,54 @@
+package com.SpringBoot.handler;
+
+import com.SpringBoot.exception.BadRequestException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+class ErrorBodyTemplatesTest {
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private ErrorBodyTemplates errorBodyTemplates;
+
+    @BeforeEach
+    void setUp(){
+        Clock clock = Clock.fixed(Instant.parse("2020-10-17T19:15:44.789Z"), ZoneOffset.UTC);
+        errorBodyTemplates = new ErrorBodyTemplates(objectMapper, clock, HttpStatus.BAD_REQUEST,
+                "Bad request exception, Check the documentation", BadRequestException.class.getName());
+    }
+
+    @Test
+    @DisplayName("render produces the same JSON fields as the details builder with a second-precision timestamp")
+    void render_ProducesDetailsJson_WhenSuccessful() throws Exception {
+        JsonNode body = objectMapper.readTree(errorBodyTemplates.render("Anime not Found"));
+
+        Assertions.assertThat(body.get("title").asText()).isEqualTo("Bad request exception, Check the documentation");
+        Assertions.assertThat(body.get("status").asInt()).isEqualTo(400);
+        Assertions.assertThat(body.get("details").asText()).isEqualTo("Anime not Found");
+        Assertions.assertThat(body.get("developerMessage").asText()).isEqualTo(BadRequestException.class.getName());
+        Assertions.assertThat(body.get("timestamp").asText()).isEqualTo("2020-10-17T19:15:44");
+    }
+
+    @Test
+    @DisplayName("render keeps messages apart when several are cached")
+    void render_KeepsMessagesApart_WhenSeveralAreCached() throws Exception {
+        errorBodyTemplates.render("Anime not Found");
+        JsonNode body = objectMapper.readTree(errorBodyTemplates.render("Invalid cursor"));
+
+        Assertions.assertThat(body.get("details").asText()).isEqualTo("Invalid cursor");
+    }
+
+    @Test
+    @DisplayName("BadRequestException carries no stack trace")
+    void badRequestException_HasNoStackTrace(){
+        Assertions.assertThat(new BadRequestException("Anime not Found").getStackTrace()).isEmpty();
+    }
+}
@@ -1,11 +1,14 @@
 package com.SpringBoot.integration;
 
 
+import com.SpringBoot.config.CacheConfig;
+import com.SpringBoot.config.WireFormatConfig;
 import com.SpringBoot.domain.Anime;
 import com.SpringBoot.domain.UsuarioP;
 import com.SpringBoot.repository.AnimeRepository;
 import com.SpringBoot.repository.UsuarioRepository;
 import com.SpringBoot.request.AnimePostRequestBody;
+import com.SpringBoot.response.CacheStatsResponse;
 import com.SpringBoot.util.AnimeCreator;
 import com.SpringBoot.util.AnimePostRequestBodyCreate;
 import com.SpringBoot.wrapper.PageableResponse;
@@ -24,14 +27,18 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.annotation.DirtiesContext;
 
+import java.util.Collections;
 import java.util.List;
 
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+// Animes are saved straight through the repository, so the membership filter would rule them out
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "anime.bloom.enabled=false")
 @AutoConfigureTestDatabase
 @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
 class AnimeControllerIT {
@@ -105,6 +112,28 @@ class AnimeControllerIT {
         Assertions.assertThat(animePage.toList().get(0).getName()).isEqualTo(expectedName);
     }
 
+    @Test
+    @DisplayName("listSlice returns compact page readable as PageableResponse when successful")
+    void listSlice_ReturnsCompactPageReadableAsPageableResponse_WhenSuccessful() {
+        Anime savedAnime = animeRepository.save(AnimeCreator.createAnimeToBeSaved());
+        animeRepository.save(AnimeCreator.createAnimeToBeSaved());
+        usuarioRepository.save(USER);
+        String expectedName = savedAnime.getName();
+
+        PageableResponse<Anime> animePage = testRestTemplateUser.exchange("/animes/slice?size=1", HttpMethod.GET, null,
+                new ParameterizedTypeReference<PageableResponse<Anime>>() {
+                }).getBody();
+
+        Assertions.assertThat(animePage).isNotNull();
+
+        Assertions.assertThat(animePage.toList())
+                .isNotEmpty()
+                .hasSize(1);
+
+        Assertions.assertThat(animePage.toList().get(0).getName()).isEqualTo(expectedName);
+        Assertions.assertThat(animePage.hasNext()).isTrue();
+    }
+
     @Test
     @DisplayName("ListAll returns list of anime when successful")
     void listAllReturnsListOfAnimesWhenSuccessful() {
@@ -125,6 +154,26 @@ class AnimeControllerIT {
         Assertions.assertThat(animes.get(0).getName()).isEqualTo(expectedName);
     }
 
+    @Test
+    @DisplayName("streamAll returns list of anime when successful")
+    void streamAllReturnsListOfAnimesWhenSuccessful() {
+        Anime savedAnime = animeRepository.save(AnimeCreator.createAnimeToBeSaved());
+        usuarioRepository.save(USER);
+
+        String expectedName = savedAnime.getName();
+
+        List<Anime> animes = testRestTemplateUser.exchange("/animes/all/stream", HttpMethod.GET, null,
+                new ParameterizedTypeReference<List<Anime>>() {
+                }).getBody();
+
+        Assertions.assertThat(animes)
+                .isNotNull()
+                .isNotEmpty()
+                .hasSize(1);
+
+        Assertions.assertThat(animes.get(0).getName()).isEqualTo(expectedName);
+    }
+
     @Test
     @DisplayName("find by id returns list of anime when successful")
     void findByIdReturnsListOfAnimesWhenSuccessful() {
@@ -141,6 +190,51 @@ class AnimeControllerIT {
         Assertions.assertThat(anime.getId()).isNotNull().isEqualTo(idExpected);
     }
 
+    @Test
+    @DisplayName("find by id returns not modified when If-None-Match carries the current ETag")
+    void findByIdReturnsNotModifiedWhenEtagMatches() {
+        Anime animeSaved = animeRepository.save(AnimeCreator.createAnimeToBeSaved());
+        usuarioRepository.save(USER);
+
+        ResponseEntity<Anime> first = testRestTemplateUser.getForEntity("/animes/{id}", Anime.class, animeSaved.getId());
+        String etag = first.getHeaders().getETag();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(etag);
+        ResponseEntity<Anime> second = testRestTemplateUser.exchange("/animes/{id}", HttpMethod.GET,
+                new HttpEntity<>(headers), Anime.class, animeSaved.getId());
+
+        Assertions.assertThat(etag).isNotNull();
+        Assertions.assertThat(second.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        Assertions.assertThat(second.getBody()).isNull();
+    }
+
+    @Test
+    @DisplayName("cache stats count the hit of a repeated find by id when Role admin")
+    void cacheStatsCountRepeatedFindByIdWhenRoleAdmin() {
+        Anime animeSaved = animeRepository.save(AnimeCreator.createAnimeToBeSaved());
+        usuarioRepository.save(ADMIN);
+
+        testRestTemplateAdmin.getForObject("/animes/{id}", Anime.class, animeSaved.getId());
+        testRestTemplateAdmin.getForObject("/animes/{id}", Anime.class, animeSaved.getId());
+
+        ResponseEntity<List<CacheStatsResponse>> stats = testRestTemplateAdmin.exchange("/animes/admin/cache",
+                HttpMethod.GET, null, new ParameterizedTypeReference<List<CacheStatsResponse>>() {
+                });
+
+        Assertions.assertThat(stats.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(stats.getBody()).isNotNull();
+
+        CacheStatsResponse animeById = stats.getBody().stream()
+                .filter(cache -> CacheConfig.ANIME_BY_ID.equals(cache.getName()))
+                .findFirst()
+                .orElseThrow();
+
+        Assertions.assertThat(animeById.getSize()).isEqualTo(1);
+        Assertions.assertThat(animeById.getHitCount()).isEqualTo(1);
+        Assertions.assertThat(animeById.getMissCount()).isEqualTo(1);
+    }
+
     @Test
     @DisplayName("find by Name returns list of anime when successful")
     void findByNameReturnsListOfAnimesWhenSuccessful() {
@@ -196,6 +290,64 @@ class AnimeControllerIT {
         Assertions.assertThat(animeResponseEntity.getBody().getId()).isNotNull();
     }
 
+    @Test
+    @DisplayName("list answers in Smile when the client asks for it")
+    void list_ReturnsSmileEncodedPage_WhenAcceptIsSmile() {
+        Anime savedAnime = animeRepository.save(AnimeCreator.createAnimeToBeSaved());
+        usuarioRepository.save(USER);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(Collections.singletonList(WireFormatConfig.APPLICATION_SMILE));
+
+        ResponseEntity<PageableResponse<Anime>> entity = testRestTemplateUser.exchange("/animes", HttpMethod.GET,
+                new HttpEntity<>(headers), new ParameterizedTypeReference<PageableResponse<Anime>>() {
+                });
+
+        Assertions.assertThat(entity.getHeaders().getContentType()).isEqualTo(WireFormatConfig.APPLICATION_SMILE);
+        Assertions.assertThat(entity.getBody()).isNotNull();
+        Assertions.assertThat(entity.getBody().toList())
+                .hasSize(1)
+                .extracting(Anime::getName)
+                .containsExactly(savedAnime.getName());
+    }
+
+    @Test
+    @DisplayName("Save accepts a CBOR body and streamAll answers in CBOR when successful")
+    void save_AcceptsCborBody_AndStreamAllAnswersInCbor_WhenSuccessful() {
+        usuarioRepository.save(USER);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(WireFormatConfig.APPLICATION_CBOR);
+        headers.setAccept(Collections.singletonList(WireFormatConfig.APPLICATION_CBOR));
+
+        ResponseEntity<Anime> saved = testRestTemplateUser.exchange("/animes", HttpMethod.POST,
+                new HttpEntity<>(AnimePostRequestBodyCreate.createAnimeToBeSaved(), headers), Anime.class);
+
+        Assertions.assertThat(saved.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        Assertions.assertThat(saved.getHeaders().getContentType()).isEqualTo(WireFormatConfig.APPLICATION_CBOR);
+
+        ResponseEntity<List<Anime>> streamed = testRestTemplateUser.exchange("/animes/all/stream", HttpMethod.GET,
+                new HttpEntity<>(headers), new ParameterizedTypeReference<List<Anime>>() {
+                });
+
+        Assertions.assertThat(streamed.getHeaders().getContentType()).isEqualTo(WireFormatConfig.APPLICATION_CBOR);
+        Assertions.assertThat(streamed.getBody())
+                .isNotNull()
+                .extracting(Anime::getId)
+                .containsExactly(saved.getBody().getId());
+    }
+
+    @Test
+    @DisplayName("list keeps answering in JSON by default")
+    void list_ReturnsJson_WhenNoFormatIsRequested() {
+        usuarioRepository.save(USER);
+
+        ResponseEntity<String> entity = testRestTemplateUser.getForEntity("/animes", String.class);
+
+        Assertions.assertThat(entity.getHeaders().getContentType()).isNotNull();
+        Assertions.assertThat(entity.getHeaders().getContentType().isCompatibleWith(MediaType.APPLICATION_JSON)).isTrue();
+    }
+
     @Test
     @DisplayName("Replace list of anime when successful")
     void replaceUpdateAnimeWhenSuccessful() {
@@ -0,0 +1,109 @@
+package com.SpringBoot.limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+class AdaptiveConcurrencyLimiterTest {
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp(){
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("tryAcquire refuses requests over the limit and counts them")
+    void tryAcquire_RefusesRequestsOverTheLimit(){
+        AdaptiveConcurrencyLimiter limiter = limiter(2, Duration.ofMinutes(1));
+
+        Assertions.assertThat(limiter.tryAcquire()).isNotNull();
+        Assertions.assertThat(limiter.tryAcquire()).isNotNull();
+        Assertions.assertThat(limiter.tryAcquire()).isNull();
+
+        Assertions.assertThat(meterRegistry.get("anime.concurrency.rejected").counter().count()).isEqualTo(1);
+        Assertions.assertThat(limiter.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("release raises the limit by one after a fast response while the limit is in use")
+    void release_IncreasesLimit_WhenFastAndBusy(){
+        AdaptiveConcurrencyLimiter limiter = limiter(2, Duration.ofMinutes(1));
+        List<AdaptiveConcurrencyLimiter.Permit> permits = acquire(limiter, 2);
+
+        permits.get(0).release(false);
+
+        Assertions.assertThat(limiter.getLimit()).isEqualTo(3);
+        Assertions.assertThat(limiter.getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("release keeps the limit when most of it is unused")
+    void release_KeepsLimit_WhenMostlyIdle(){
+        AdaptiveConcurrencyLimiter limiter = limiter(10, Duration.ofMinutes(1));
+
+        limiter.tryAcquire().release(false);
+
+        Assertions.assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("release backs the limit off once per latency threshold when responses are overloaded")
+    void release_DecreasesLimitOnce_WhenOverloaded(){
+        AdaptiveConcurrencyLimiter limiter = limiter(10, Duration.ofMinutes(1));
+        List<AdaptiveConcurrencyLimiter.Permit> permits = acquire(limiter, 3);
+
+        permits.forEach(permit -> permit.release(true));
+
+        Assertions.assertThat(limiter.getLimit()).isEqualTo(9);
+        Assertions.assertThat(meterRegistry.get("anime.concurrency.limit.changes")
+                .tag("direction", "decrease").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("release backs the limit off when the response was slower than the latency threshold")
+    void release_DecreasesLimit_WhenSlow() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, Duration.ofMillis(1));
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+
+        Thread.sleep(5);
+        permit.release(false);
+        permit.release(false);
+
+        Assertions.assertThat(limiter.getLimit()).isEqualTo(9);
+        Assertions.assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("release keeps the limit after a slow response whose latency is ignored")
+    void release_KeepsLimit_WhenLatencyIsIgnored() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, Duration.ofMillis(1));
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+        permit.ignoreLatency();
+
+        Thread.sleep(5);
+        permit.release(false);
+
+        Assertions.assertThat(limiter.getLimit()).isEqualTo(10);
+        Assertions.assertThat(limiter.getInFlight()).isZero();
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit, Duration latencyThreshold) {
+        return new AdaptiveConcurrencyLimiter("read",
+                new ConcurrencyLimitProperties.Route(initialLimit, 1, 100, latencyThreshold, 0.9), meterRegistry);
+    }
+
+    private static List<AdaptiveConcurrencyLimiter.Permit> acquire(AdaptiveConcurrencyLimiter limiter, int count) {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            permits.add(limiter.tryAcquire());
+        }
+        return permits;
+    }
+}
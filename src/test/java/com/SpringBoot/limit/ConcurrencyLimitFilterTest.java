@@ -0,0 +1,114 @@
+package com.SpringBoot.limit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import java.time.Duration;
+
+class ConcurrencyLimitFilterTest {
+    private AdaptiveConcurrencyLimiter readLimiter;
+    private AdaptiveConcurrencyLimiter writeLimiter;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp(){
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ConcurrencyLimitProperties.Route route = new ConcurrencyLimitProperties.Route(1, 1, 1, Duration.ofMinutes(1), 0.9);
+        readLimiter = new AdaptiveConcurrencyLimiter("read", route, meterRegistry);
+        writeLimiter = new AdaptiveConcurrencyLimiter("write", route, meterRegistry);
+        filter = new ConcurrencyLimitFilter(readLimiter, writeLimiter, new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    @Test
+    @DisplayName("doFilter answers 503 with Retry-After when the write limit is used up and still serves reads")
+    void doFilter_RejectsWrites_WhenWriteLimitIsReached() throws Exception {
+        writeLimiter.tryAcquire();
+
+        MockHttpServletResponse write = filter(new MockHttpServletRequest("DELETE", "/animes/admin/1"));
+        MockHttpServletResponse read = filter(new MockHttpServletRequest("GET", "/animes/1"));
+
+        Assertions.assertThat(write.getStatus()).isEqualTo(503);
+        Assertions.assertThat(write.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        Assertions.assertThat(write.getContentAsString()).contains("Too many concurrent requests");
+        Assertions.assertThat(read.getStatus()).isEqualTo(200);
+        Assertions.assertThat(readLimiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("doFilter backs off on slow reads but not on slow exports")
+    void doFilter_IgnoresLatencyOfSizeBoundRoutes() throws Exception {
+        AdaptiveConcurrencyLimiter slowReads = limiter(Duration.ofMillis(1));
+        ConcurrencyLimitFilter slowFilter = new ConcurrencyLimitFilter(slowReads, writeLimiter, new ObjectMapper());
+        FilterChain slowChain = (request, response) -> {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        slowFilter.doFilter(new MockHttpServletRequest("GET", "/animes/all/stream"), new MockHttpServletResponse(), slowChain);
+        Assertions.assertThat(slowReads.getLimit()).isEqualTo(10);
+
+        slowFilter.doFilter(new MockHttpServletRequest("GET", "/animes/find"), new MockHttpServletResponse(), slowChain);
+        Assertions.assertThat(slowReads.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("doFilter backs off and frees the permit when an exception escapes the chain")
+    void doFilter_BacksOff_WhenChainThrows(){
+        AdaptiveConcurrencyLimiter reads = limiter(Duration.ofMinutes(1));
+        ConcurrencyLimitFilter failingFilter = new ConcurrencyLimitFilter(reads, writeLimiter, new ObjectMapper());
+        FilterChain failingChain = (request, response) -> {
+            throw new ServletException("Database unreachable");
+        };
+
+        Assertions.assertThatExceptionOfType(ServletException.class)
+                .isThrownBy(() -> failingFilter.doFilter(new MockHttpServletRequest("GET", "/animes/1"),
+                        new MockHttpServletResponse(), failingChain));
+
+        Assertions.assertThat(reads.getLimit()).isEqualTo(5);
+        Assertions.assertThat(reads.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("isSizeBound matches exports and bulk routes only")
+    void isSizeBound_MatchesExportsAndBulkRoutes(){
+        Assertions.assertThat(ConcurrencyLimitFilter.isSizeBound(new MockHttpServletRequest("GET", "/animes/all"))).isTrue();
+        Assertions.assertThat(ConcurrencyLimitFilter.isSizeBound(new MockHttpServletRequest("GET", "/animes/all/stream"))).isTrue();
+        Assertions.assertThat(ConcurrencyLimitFilter.isSizeBound(new MockHttpServletRequest("PUT", "/animes/bulk"))).isTrue();
+        Assertions.assertThat(ConcurrencyLimitFilter.isSizeBound(new MockHttpServletRequest("POST", "/animes/admin/bulk/delete"))).isTrue();
+        Assertions.assertThat(ConcurrencyLimitFilter.isSizeBound(new MockHttpServletRequest("GET", "/animes/allegro"))).isFalse();
+        Assertions.assertThat(ConcurrencyLimitFilter.isSizeBound(new MockHttpServletRequest("GET", "/animes/1"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("isWrite treats admin routes and unsafe methods as writes")
+    void isWrite_TreatsAdminRoutesAndUnsafeMethodsAsWrites(){
+        Assertions.assertThat(ConcurrencyLimitFilter.isWrite(new MockHttpServletRequest("GET", "/animes/admin/bulk"))).isTrue();
+        Assertions.assertThat(ConcurrencyLimitFilter.isWrite(new MockHttpServletRequest("POST", "/animes"))).isTrue();
+        Assertions.assertThat(ConcurrencyLimitFilter.isWrite(new MockHttpServletRequest("GET", "/animes/find"))).isFalse();
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(Duration latencyThreshold) {
+        return new AdaptiveConcurrencyLimiter("read",
+                new ConcurrencyLimitProperties.Route(10, 1, 100, latencyThreshold, 0.5), new SimpleMeterRegistry());
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,67 @@
+package com.SpringBoot.metrics;
+
+import com.SpringBoot.exception.BadRequestException;
+import com.SpringBoot.service.AnimeService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+@ExtendWith(SpringExtension.class)
+class ServiceTimingAspectTest {
+    @Mock
+    private ProceedingJoinPoint joinPointMock;
+    @Mock
+    private Signature signatureMock;
+    private SimpleMeterRegistry meterRegistry;
+    private ServiceTimingAspect serviceTimingAspect;
+
+    @BeforeEach
+    void setUp(){
+        meterRegistry = new SimpleMeterRegistry();
+        serviceTimingAspect = new ServiceTimingAspect(meterRegistry);
+
+        BDDMockito.when(joinPointMock.getSignature()).thenReturn(signatureMock);
+        BDDMockito.when(signatureMock.getDeclaringType()).thenReturn(AnimeService.class);
+        BDDMockito.when(signatureMock.getName()).thenReturn("findByIdOrThrowBadRequestException");
+    }
+
+    @Test
+    @DisplayName("time records one sample per call tagged with class and method when successful")
+    void time_RecordsSampleTaggedWithClassAndMethod_WhenSuccessful() throws Throwable {
+        BDDMockito.when(joinPointMock.proceed()).thenReturn("anime");
+
+        Object result = serviceTimingAspect.time(joinPointMock);
+        serviceTimingAspect.time(joinPointMock);
+
+        Assertions.assertThat(result).isEqualTo("anime");
+        Timer timer = meterRegistry.get(ServiceTimingAspect.METRIC_NAME)
+                .tag("class", "AnimeService")
+                .tag("method", "findByIdOrThrowBadRequestException")
+                .tag("exception", "none")
+                .timer();
+        Assertions.assertThat(timer.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("time records the exception name and rethrows when the call fails")
+    void time_RecordsExceptionAndRethrows_WhenCallFails() throws Throwable {
+        BDDMockito.when(joinPointMock.proceed()).thenThrow(new BadRequestException("Anime not found"));
+
+        Assertions.assertThatExceptionOfType(BadRequestException.class)
+                .isThrownBy(() -> serviceTimingAspect.time(joinPointMock));
+
+        Assertions.assertThat(meterRegistry.get(ServiceTimingAspect.METRIC_NAME)
+                .tag("exception", "BadRequestException")
+                .timer()
+                .count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,76 @@
+package com.SpringBoot.repository;
+
+import com.SpringBoot.domain.Anime;
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+
+// Each repository call commits on its own here, as in production, so results really go through the shared caches
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AnimeRepositoryCacheTest {
+    @Autowired
+    private AnimeRepository animeRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp(){
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown(){
+        animeRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("a JPQL update invalidates cached findByName and findVersionById results")
+    void updateName_InvalidatesCachedQueryResults(){
+        Anime anime = animeRepository.save(Anime.builder().name("Hajime no Ippo").build());
+        long version = animeRepository.findVersionById(anime.getId()).orElseThrow();
+        animeRepository.findByName("Hajime no Ippo");
+        animeRepository.findByName("Hajime no Ippo");
+        Assertions.assertThat(statistics.getQueryCacheHitCount()).isPositive();
+
+        transactionTemplate.execute(status -> animeRepository.updateName(anime.getId(), "Ippo", "ippo"));
+
+        Assertions.assertThat(animeRepository.findByName("Hajime no Ippo")).isEmpty();
+        Assertions.assertThat(animeRepository.findByName("Ippo")).extracting(Anime::getId).containsExactly(anime.getId());
+        Assertions.assertThat(animeRepository.findVersionById(anime.getId())).contains(version + 1);
+    }
+
+    @Test
+    @DisplayName("a JPQL delete invalidates cached entities and query results")
+    void removeById_InvalidatesCachedEntityAndQueryResults(){
+        Anime anime = animeRepository.save(Anime.builder().name("Samurai X").build());
+        animeRepository.findById(anime.getId());
+        animeRepository.findById(anime.getId());
+        animeRepository.findByName("Samurai X");
+        Assertions.assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+
+        transactionTemplate.execute(status -> animeRepository.removeById(anime.getId()));
+
+        Assertions.assertThat(animeRepository.findById(anime.getId())).isEmpty();
+        Assertions.assertThat(animeRepository.findByName("Samurai X")).isEmpty();
+        Assertions.assertThat(animeRepository.findVersionById(anime.getId())).isEmpty();
+    }
+}
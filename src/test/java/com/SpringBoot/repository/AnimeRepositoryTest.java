@@ -7,6 +7,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 
 import javax.validation.ConstraintViolationException;
 import java.util.List;
@@ -84,6 +86,41 @@ class AnimeRepositoryTest {
         Assertions.assertThat(animes).isEmpty();
     }
 
+    @Test
+    @DisplayName("search by name prefix ignores case when successful")
+    void testSearchByNamePrefixIgnoresCase(){
+        Anime animeSaved = this.animeRepository.save(AnimeCreator.createAnimeToBeSaved());
+        this.animeRepository.save(Anime.builder().name("Overlord").build());
+
+        Page<Anime> animes = this.animeRepository.searchByNamePrefix("hajime%", PageRequest.of(0, 10));
+
+        Assertions.assertThat(animes.getContent()).containsExactly(animeSaved);
+        Assertions.assertThat(animeSaved.getSearchName()).isEqualTo("hajime no ippo");
+    }
+
+    @Test
+    @DisplayName("updateName changes name and bumps version in a single statement when successful")
+    void testUpdateName(){
+        Anime animeSaved = this.animeRepository.saveAndFlush(AnimeCreator.createAnimeToBeSaved());
+
+        int updated = this.animeRepository.updateName(animeSaved.getId(), "Overlord", "overlord");
+
+        Assertions.assertThat(updated).isEqualTo(1);
+        Assertions.assertThat(this.animeRepository.findVersionById(animeSaved.getId()))
+                .contains(animeSaved.getVersion() + 1);
+        Assertions.assertThat(this.animeRepository.updateNameIfVersion(animeSaved.getId(), animeSaved.getVersion(),
+                "Overlord 2", "overlord 2")).isZero();
+    }
+
+    @Test
+    @DisplayName("removeById returns zero when no anime is found")
+    void testRemoveByIdReturnsZeroWhenAnimeIsNotFound(){
+        Anime animeSaved = this.animeRepository.saveAndFlush(AnimeCreator.createAnimeToBeSaved());
+
+        Assertions.assertThat(this.animeRepository.removeById(animeSaved.getId())).isEqualTo(1);
+        Assertions.assertThat(this.animeRepository.removeById(animeSaved.getId())).isZero();
+    }
+
     @Test
     @DisplayName("Save throw ConstraintViolationException when name is empty")
     void saveThrowsConstraintViolationExceptio_WhenNameIsEmpty(){
@@ -0,0 +1,133 @@
+package com.SpringBoot.search;
+
+import com.SpringBoot.repository.AnimeRepository;
+import com.SpringBoot.util.BloomFilter;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.stream.Stream;
+
+class AnimeMembershipFilterTest {
+    private AnimeRepository animeRepositoryMock;
+    private AnimeMembershipFilter animeMembershipFilter;
+
+    @BeforeEach
+    void setUp(){
+        animeRepositoryMock = Mockito.mock(AnimeRepository.class);
+        BDDMockito.when(animeRepositoryMock.count()).thenReturn(2L);
+        BDDMockito.when(animeRepositoryMock.streamIdsAndNames()).thenAnswer(invocation -> Stream.of(
+                new Object[]{1L, "Samurai Champloo"},
+                new Object[]{2L, "Pokémon"}));
+        animeMembershipFilter = new AnimeMembershipFilter(animeRepositoryMock, true, 1000, 0.01, 1 << 20);
+    }
+
+    @Test
+    @DisplayName("rebuild leaves every key possibly present and skips the database when disabled")
+    void rebuild_DoesNothing_WhenDisabled(){
+        AnimeMembershipFilter disabled = new AnimeMembershipFilter(animeRepositoryMock, false, 1000, 0.01, 1 << 20);
+
+        disabled.rebuild();
+
+        Assertions.assertThat(disabled.mightContainId(42L)).isTrue();
+        Assertions.assertThat(disabled.mightContainName("Naruto")).isTrue();
+        BDDMockito.verify(animeRepositoryMock, Mockito.never()).streamIdsAndNames();
+    }
+
+    @Test
+    @DisplayName("mightContain reports every key as possibly present before the first rebuild")
+    void mightContain_ReportsEveryKey_BeforeFirstRebuild(){
+        Assertions.assertThat(animeMembershipFilter.mightContainId(42L)).isTrue();
+        Assertions.assertThat(animeMembershipFilter.mightContainName("Naruto")).isTrue();
+    }
+
+    @Test
+    @DisplayName("mightContain finds loaded keys ignoring case and accents and rules out others")
+    void mightContain_FindsLoadedKeysIgnoringCaseAndAccents(){
+        animeMembershipFilter.rebuild();
+
+        Assertions.assertThat(animeMembershipFilter.mightContainId(1L)).isTrue();
+        Assertions.assertThat(animeMembershipFilter.mightContainId(2L)).isTrue();
+        Assertions.assertThat(animeMembershipFilter.mightContainName(" POKEMON ")).isTrue();
+        Assertions.assertThat(animeMembershipFilter.mightContainName("samurai champloo")).isTrue();
+        Assertions.assertThat(animeMembershipFilter.mightContainId(404L)).isFalse();
+        Assertions.assertThat(animeMembershipFilter.mightContainName("Naruto")).isFalse();
+    }
+
+    @Test
+    @DisplayName("put makes a new anime visible immediately")
+    void put_MakesNewAnimeVisibleImmediately(){
+        animeMembershipFilter.rebuild();
+
+        animeMembershipFilter.put(3L, "Hajime no Ippo");
+
+        Assertions.assertThat(animeMembershipFilter.mightContainId(3L)).isTrue();
+        Assertions.assertThat(animeMembershipFilter.mightContainName("hajime no ippo")).isTrue();
+    }
+
+    @Test
+    @DisplayName("put during a rebuild survives the swap to the new filters")
+    void put_SurvivesConcurrentRebuild(){
+        animeMembershipFilter.rebuild();
+        BDDMockito.when(animeRepositoryMock.streamIdsAndNames()).thenAnswer(invocation -> {
+            animeMembershipFilter.put(3L, "Hajime no Ippo");
+            return Stream.<Object[]>of(new Object[]{1L, "Samurai Champloo"});
+        });
+
+        animeMembershipFilter.rebuild();
+
+        Assertions.assertThat(animeMembershipFilter.mightContainId(3L)).isTrue();
+        Assertions.assertThat(animeMembershipFilter.mightContainName("Hajime no Ippo")).isTrue();
+    }
+
+    @Test
+    @DisplayName("put of a row that commits after a rebuild started streaming is kept once it commits")
+    void put_KeepsKeyCommittedAfterRebuildStarted(){
+        animeMembershipFilter.rebuild();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            animeMembershipFilter.put(3L, "Hajime no Ippo");
+            animeMembershipFilter.rebuild();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        Assertions.assertThat(animeMembershipFilter.mightContainId(3L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("normalize folds every spelling the database collation treats as equal onto one key")
+    void normalize_FoldsCollationEquivalents(){
+        Assertions.assertThat(AnimeMembershipFilter.normalize("Straße")).isEqualTo(AnimeMembershipFilter.normalize("STRASSE"));
+        Assertions.assertThat(AnimeMembershipFilter.normalize("Æon Flux")).isEqualTo(AnimeMembershipFilter.normalize("aeon flux"));
+        Assertions.assertThat(AnimeMembershipFilter.normalize("ＰＯＫＥＭＯＮ")).isEqualTo(AnimeMembershipFilter.normalize("Pokémon"));
+        Assertions.assertThat(AnimeMembershipFilter.normalize("ポケモン")).isEqualTo(AnimeMembershipFilter.normalize("ぽけもん"));
+    }
+
+    @Test
+    @DisplayName("BloomFilter keeps every inserted key and stays near the configured false positive rate")
+    void bloomFilter_HasNoFalseNegativesAndBoundedFalsePositives(){
+        BloomFilter bloomFilter = BloomFilter.create(10_000, 0.01, 1 << 20);
+        for (long id = 0; id < 10_000; id++) {
+            bloomFilter.put(BloomFilter.hash(id));
+        }
+
+        for (long id = 0; id < 10_000; id++) {
+            Assertions.assertThat(bloomFilter.mightContain(BloomFilter.hash(id))).isTrue();
+        }
+        long falsePositives = 0;
+        for (long id = 1_000_000; id < 1_100_000; id++) {
+            if (bloomFilter.mightContain(BloomFilter.hash(id))) {
+                falsePositives++;
+            }
+        }
+
+        Assertions.assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+    }
+}
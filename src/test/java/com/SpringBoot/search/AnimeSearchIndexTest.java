@@ -0,0 +1,101 @@
+package com.SpringBoot.search;
+
+import com.SpringBoot.domain.Anime;
+import com.SpringBoot.response.AnimeSearchHit;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+class AnimeSearchIndexTest {
+    private AnimeSearchIndex animeSearchIndex;
+
+    @BeforeEach
+    void setUp(){
+        animeSearchIndex = new AnimeSearchIndex();
+        animeSearchIndex.rebuild(List.of(
+                Anime.builder().id(1L).name("Samurai Champloo").build(),
+                Anime.builder().id(2L).name("Hajime no Ippo").build(),
+                Anime.builder().id(3L).name("Samurai X").build(),
+                Anime.builder().id(4L).name("Pokémon").build()));
+    }
+
+    @Test
+    @DisplayName("search finds anime when a word is misspelled")
+    void search_FindsAnime_WhenWordIsMisspelled(){
+        List<AnimeSearchHit> hits = animeSearchIndex.search("samurai champlo", 10);
+
+        Assertions.assertThat(hits).isNotEmpty();
+        Assertions.assertThat(hits.get(0).getId()).isEqualTo(1L);
+        Assertions.assertThat(hits).extracting(AnimeSearchHit::getId).contains(3L);
+    }
+
+    @Test
+    @DisplayName("search ranks exact matches above fuzzy matches")
+    void search_RanksExactMatchesAboveFuzzyMatches(){
+        List<AnimeSearchHit> hits = animeSearchIndex.search("ipoo hajime", 10);
+
+        Assertions.assertThat(hits).extracting(AnimeSearchHit::getId).containsExactly(2L);
+        Assertions.assertThat(hits.get(0).getScore()).isLessThan(1.0).isGreaterThan(0.5);
+    }
+
+    @Test
+    @DisplayName("search ignores case and accents")
+    void search_IgnoresCaseAndAccents(){
+        List<AnimeSearchHit> hits = animeSearchIndex.search("POKEMON", 10);
+
+        Assertions.assertThat(hits).extracting(AnimeSearchHit::getName).containsExactly("Pokémon");
+    }
+
+    @Test
+    @DisplayName("search matches prefixes of words")
+    void search_MatchesPrefixesOfWords(){
+        List<AnimeSearchHit> hits = animeSearchIndex.search("samu", 10);
+
+        Assertions.assertThat(hits).extracting(AnimeSearchHit::getId).containsExactlyInAnyOrder(1L, 3L);
+    }
+
+    @Test
+    @DisplayName("put replaces the indexed name and remove drops the anime")
+    void putAndRemove_UpdateTheIndex(){
+        animeSearchIndex.put(Anime.builder().id(2L).name("Overlord").build());
+        animeSearchIndex.remove(1L);
+
+        Assertions.assertThat(animeSearchIndex.search("hajime", 10)).isEmpty();
+        Assertions.assertThat(animeSearchIndex.search("overlord", 10)).extracting(AnimeSearchHit::getId).containsExactly(2L);
+        Assertions.assertThat(animeSearchIndex.search("champloo", 10)).isEmpty();
+        Assertions.assertThat(animeSearchIndex.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("rebuild keeps puts and removes made while it reads the animes")
+    void rebuild_KeepsWritesMadeWhileReading(){
+        Iterable<Anime> snapshot = () -> Stream.of(
+                Anime.builder().id(1L).name("Samurai Champloo").build(),
+                Anime.builder().id(2L).name("Hajime no Ippo").build())
+                .peek(anime -> {
+                    if (anime.getId() == 1L) {
+                        animeSearchIndex.put(Anime.builder().id(5L).name("Overlord").build());
+                        animeSearchIndex.remove(2L);
+                    }
+                })
+                .iterator();
+
+        animeSearchIndex.rebuild(snapshot);
+
+        Assertions.assertThat(animeSearchIndex.search("overlord", 10)).extracting(AnimeSearchHit::getId).containsExactly(5L);
+        Assertions.assertThat(animeSearchIndex.search("hajime", 10)).isEmpty();
+        Assertions.assertThat(animeSearchIndex.search("samurai", 10)).extracting(AnimeSearchHit::getId).containsExactly(1L);
+        Assertions.assertThat(animeSearchIndex.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("editDistance stops once the limit is exceeded")
+    void editDistance_StopsOnceLimitIsExceeded(){
+        Assertions.assertThat(AnimeSearchIndex.editDistance("champlo", "champloo", 2)).isEqualTo(1);
+        Assertions.assertThat(AnimeSearchIndex.editDistance("abcdef", "uvwxyz", 2)).isEqualTo(3);
+    }
+}
@@ -0,0 +1,83 @@
+package com.SpringBoot.security;
+
+import com.SpringBoot.domain.UsuarioP;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.Duration;
+
+@ExtendWith(SpringExtension.class)
+class CachingAuthenticationProviderTest {
+    private static final UsuarioP USER = UsuarioP.builder()
+            .id(1L)
+            .name("teste")
+            .userName("teste")
+            .authorities("ROLE_USER,ROLE_ADMIN")
+            .build();
+
+    @Mock
+    private AuthenticationManager delegateMock;
+    private CredentialCache credentialCache;
+    private CachingAuthenticationProvider cachingAuthenticationProvider;
+
+    @BeforeEach
+    void setUp(){
+        credentialCache = new CredentialCache(Duration.ofMinutes(1), 100);
+        cachingAuthenticationProvider = new CachingAuthenticationProvider(delegateMock, credentialCache);
+
+        BDDMockito.when(delegateMock.authenticate(ArgumentMatchers.argThat(token -> token != null && "2233".equals(token.getCredentials()))))
+                .thenReturn(new UsernamePasswordAuthenticationToken(USER, null, USER.getAuthorities()));
+        BDDMockito.when(delegateMock.authenticate(ArgumentMatchers.argThat(token -> token != null && !"2233".equals(token.getCredentials()))))
+                .thenThrow(new BadCredentialsException("Bad credentials"));
+    }
+
+    @Test
+    @DisplayName("authenticate verifies the password only once while the credential is cached")
+    void authenticate_VerifiesPasswordOnce_WhileCredentialIsCached(){
+        cachingAuthenticationProvider.authenticate(token("teste", "2233"));
+        Authentication cached = cachingAuthenticationProvider.authenticate(token("teste", "2233"));
+
+        Assertions.assertThat(cached.isAuthenticated()).isTrue();
+        Assertions.assertThat(cached.getPrincipal()).isEqualTo(USER);
+        Assertions.assertThat(cached.getAuthorities()).extracting(Object::toString)
+                .containsExactly("ROLE_USER", "ROLE_ADMIN");
+        BDDMockito.verify(delegateMock, Mockito.times(1)).authenticate(ArgumentMatchers.any());
+    }
+
+    @Test
+    @DisplayName("authenticate rejects a wrong password even when the user is cached")
+    void authenticate_RejectsWrongPassword_WhenUserIsCached(){
+        cachingAuthenticationProvider.authenticate(token("teste", "2233"));
+
+        Assertions.assertThatExceptionOfType(BadCredentialsException.class)
+                .isThrownBy(() -> cachingAuthenticationProvider.authenticate(token("teste", "wrong")));
+    }
+
+    @Test
+    @DisplayName("evict forces the next authentication to verify the password again")
+    void evict_ForcesPasswordVerification(){
+        cachingAuthenticationProvider.authenticate(token("teste", "2233"));
+
+        credentialCache.evict(USER.getId(), null);
+        cachingAuthenticationProvider.authenticate(token("teste", "2233"));
+
+        Assertions.assertThat(credentialCache.size()).isEqualTo(1);
+        BDDMockito.verify(delegateMock, Mockito.times(2)).authenticate(ArgumentMatchers.any());
+    }
+
+    private static UsernamePasswordAuthenticationToken token(String username, String password) {
+        return new UsernamePasswordAuthenticationToken(username, password);
+    }
+}
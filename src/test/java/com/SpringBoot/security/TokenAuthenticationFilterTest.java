@@ -0,0 +1,48 @@
+package com.SpringBoot.security;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.HttpRequestResponseHolder;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+class TokenAuthenticationFilterTest {
+    private final TokenService tokenService = new TokenService("", Duration.ofMinutes(15), false);
+    private final TokenAuthenticationFilter tokenAuthenticationFilter = new TokenAuthenticationFilter(tokenService);
+
+    @AfterEach
+    void tearDown(){
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("doFilter authenticates a bearer token without opening a session for it")
+    void doFilter_AuthenticatesBearerToken_WithoutCreatingSession() throws Exception {
+        String token = tokenService.issue(new UsernamePasswordAuthenticationToken("kell", null,
+                AuthorityUtils.createAuthorityList("ROLE_USER")));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        HttpSessionSecurityContextRepository repository = new HttpSessionSecurityContextRepository();
+        HttpRequestResponseHolder holder = new HttpRequestResponseHolder(request, new MockHttpServletResponse());
+        SecurityContextHolder.setContext(repository.loadContext(holder));
+        AtomicReference<Authentication> authenticated = new AtomicReference<>();
+
+        tokenAuthenticationFilter.doFilter(holder.getRequest(), holder.getResponse(),
+                (filteredRequest, filteredResponse) -> authenticated.set(SecurityContextHolder.getContext().getAuthentication()));
+        repository.saveContext(SecurityContextHolder.getContext(), holder.getRequest(), holder.getResponse());
+
+        Assertions.assertThat(authenticated.get().getName()).isEqualTo("kell");
+        Assertions.assertThat(request.getSession(false)).isNull();
+    }
+}
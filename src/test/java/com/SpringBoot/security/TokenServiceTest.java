@@ -0,0 +1,67 @@
+package com.SpringBoot.security;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+class TokenServiceTest {
+    private static final String SECRET = "c2VjcmV0LXNlY3JldC1zZWNyZXQtc2VjcmV0LXNlY3JldA==";
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final TokenService tokenService = new TokenService(SECRET, Duration.ofMinutes(15), Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    @DisplayName("verify returns the user and authorities of a token it issued")
+    void verify_ReturnsUserAndAuthorities_WhenTokenIsValid(){
+        String token = tokenService.issue(new UsernamePasswordAuthenticationToken("kell", null,
+                AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_ADMIN")));
+
+        Optional<User> user = tokenService.verify(token);
+
+        Assertions.assertThat(user).isPresent();
+        Assertions.assertThat(user.get().getUsername()).isEqualTo("kell");
+        Assertions.assertThat(AuthorityUtils.authorityListToSet(user.get().getAuthorities()))
+                .containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+    }
+
+    @Test
+    @DisplayName("verify rejects a token whose payload was tampered with")
+    void verify_RejectsToken_WhenPayloadIsTampered(){
+        String token = tokenService.issue(new UsernamePasswordAuthenticationToken("teste", null,
+                AuthorityUtils.createAuthorityList("ROLE_USER")));
+        String forgedPayload = tokenService.issue(new UsernamePasswordAuthenticationToken("teste", null,
+                AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_ADMIN"))).split("\\.")[0];
+
+        Assertions.assertThat(tokenService.verify(forgedPayload + "." + token.split("\\.")[1])).isEmpty();
+        Assertions.assertThat(tokenService.verify("garbage")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("verify rejects an expired token")
+    void verify_RejectsToken_WhenExpired(){
+        String token = tokenService.issue(new UsernamePasswordAuthenticationToken("teste", null,
+                AuthorityUtils.createAuthorityList("ROLE_USER")));
+        TokenService later = new TokenService(SECRET, Duration.ofMinutes(15),
+                Clock.fixed(NOW.plus(Duration.ofMinutes(16)), ZoneOffset.UTC));
+
+        Assertions.assertThat(later.verify(token)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("TokenService refuses to start without a secret in stateless mode")
+    void constructor_ThrowsIllegalStateException_WhenStatelessWithoutSecret(){
+        Assertions.assertThatIllegalStateException()
+                .isThrownBy(() -> new TokenService("", Duration.ofMinutes(15), true))
+                .withMessageContaining("security.token.secret");
+        Assertions.assertThat(new TokenService("", Duration.ofMinutes(15), false).getTtl()).isEqualTo(Duration.ofMinutes(15));
+    }
+}
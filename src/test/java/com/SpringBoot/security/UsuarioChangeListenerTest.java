@@ -0,0 +1,57 @@
+package com.SpringBoot.security;
+
+import com.SpringBoot.domain.UsuarioP;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+class UsuarioChangeListenerTest {
+    private static final UsuarioP USER = UsuarioP.builder()
+            .id(1L)
+            .name("teste")
+            .userName("teste")
+            .authorities("ROLE_USER")
+            .build();
+
+    private CredentialCache credentialCache;
+    private UsuarioChangeListener usuarioChangeListener;
+
+    @BeforeEach
+    void setUp(){
+        credentialCache = new CredentialCache(Duration.ofMinutes(1), 100);
+        usuarioChangeListener = new UsuarioChangeListener();
+        usuarioChangeListener.setCredentialCache(credentialCache);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown(){
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @DisplayName("evictCredentials evicts again after commit what a login re-cached before it")
+    void evictCredentials_EvictsAgainAfterCommit(){
+        cacheCredential();
+
+        usuarioChangeListener.evictCredentials(USER);
+        Assertions.assertThat(credentialCache.get("teste", "2233")).isNull();
+
+        // A login between the flush and the commit still reads the old row
+        cacheCredential();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        Assertions.assertThat(credentialCache.get("teste", "2233")).isNull();
+    }
+
+    private void cacheCredential() {
+        credentialCache.put("teste", "2233", new UsernamePasswordAuthenticationToken(USER, null, USER.getAuthorities()));
+    }
+}
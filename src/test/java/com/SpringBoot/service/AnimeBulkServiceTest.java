@@ -0,0 +1,120 @@
+package com.SpringBoot.service;
+
+import com.SpringBoot.domain.Anime;
+import com.SpringBoot.exception.BadRequestException;
+import com.SpringBoot.repository.AnimeRepository;
+import com.SpringBoot.request.AnimePostRequestBody;
+import com.SpringBoot.request.AnimePutRequestBody;
+import com.SpringBoot.response.BulkItemResult;
+import com.SpringBoot.search.AnimeMembershipFilter;
+import com.SpringBoot.search.AnimeSearchIndex;
+import com.SpringBoot.util.AnimeCreator;
+import com.SpringBoot.util.AnimePostRequestBodyCreate;
+import com.SpringBoot.util.AnimePutRequestBodyCreate;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.persistence.EntityManager;
+import javax.validation.Validation;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+@ExtendWith(SpringExtension.class)
+class AnimeBulkServiceTest {
+    private AnimeBulkService animeBulkService;
+    @Mock
+    private AnimeRepository animeRepositoryMock;
+    @Mock
+    private EntityManager entityManagerMock;
+    @Mock
+    private AnimeSearchIndex animeSearchIndexMock;
+    @Mock
+    private AnimeMembershipFilter animeMembershipFilterMock;
+
+    @BeforeEach
+    void setUp(){
+        animeBulkService = new AnimeBulkService(animeRepositoryMock, entityManagerMock,
+                Validation.buildDefaultValidatorFactory().getValidator(), animeSearchIndexMock, animeMembershipFilterMock, 2, 3);
+
+        BDDMockito.when(animeRepositoryMock.findAllById(ArgumentMatchers.anyIterable()))
+                .thenReturn(List.of(AnimeCreator.createValidAnime()));
+    }
+
+    @Test
+    @DisplayName("saveAll persists valid animes and reports invalid ones per item")
+    void saveAll_PersistsValidAnimesAndReportsInvalidOnes(){
+        List<BulkItemResult> results = animeBulkService.saveAll(List.of(
+                AnimePostRequestBodyCreate.createAnimeToBeSaved(),
+                AnimePostRequestBody.builder().name("").build()));
+
+        Assertions.assertThat(results).hasSize(2);
+        Assertions.assertThat(results.get(0).getStatus()).isEqualTo(201);
+        Assertions.assertThat(results.get(1).getStatus()).isEqualTo(400);
+        Assertions.assertThat(results.get(1).getErrors()).contains("name");
+
+        BDDMockito.verify(entityManagerMock).persist(ArgumentMatchers.any(Anime.class));
+    }
+
+    @Test
+    @DisplayName("saveAll reports a null item as a bad request and still persists the others")
+    void saveAll_ReportsNullItemAsBadRequest(){
+        List<BulkItemResult> results = animeBulkService.saveAll(Arrays.asList(
+                null, AnimePostRequestBodyCreate.createAnimeToBeSaved()));
+
+        Assertions.assertThat(results).extracting(BulkItemResult::getStatus).containsExactly(400, 201);
+        Assertions.assertThat(results.get(0).getErrors()).isNotBlank();
+        BDDMockito.verify(entityManagerMock).persist(ArgumentMatchers.any(Anime.class));
+    }
+
+    @Test
+    @DisplayName("replaceAll reports a null item as a bad request and still updates the others")
+    void replaceAll_ReportsNullItemAsBadRequest(){
+        List<BulkItemResult> results = animeBulkService.replaceAll(Arrays.asList(
+                null, AnimePutRequestBodyCreate.createAnimeToBeUpdate()));
+
+        Assertions.assertThat(results).extracting(BulkItemResult::getStatus).containsExactly(400, 204);
+    }
+
+    @Test
+    @DisplayName("deleteAll reports a null id as a bad request and still removes the others")
+    void deleteAll_ReportsNullIdAsBadRequest(){
+        List<BulkItemResult> results = animeBulkService.deleteAll(Arrays.asList(null, 1L));
+
+        Assertions.assertThat(results).extracting(BulkItemResult::getStatus).containsExactly(400, 204);
+    }
+
+    @Test
+    @DisplayName("replaceAll updates existing animes and reports missing ones as not found")
+    void replaceAll_UpdatesExistingAnimesAndReportsMissingOnes(){
+        AnimePutRequestBody missing = AnimePutRequestBody.builder().id(99L).name("missing").build();
+
+        List<BulkItemResult> results = animeBulkService.replaceAll(List.of(
+                AnimePutRequestBodyCreate.createAnimeToBeUpdate(), missing));
+
+        Assertions.assertThat(results).extracting(BulkItemResult::getStatus).containsExactly(204, 404);
+    }
+
+    @Test
+    @DisplayName("deleteAll removes existing animes and reports missing ones as not found")
+    void deleteAll_RemovesExistingAnimesAndReportsMissingOnes(){
+        List<BulkItemResult> results = animeBulkService.deleteAll(List.of(1L, 99L));
+
+        Assertions.assertThat(results).extracting(BulkItemResult::getStatus).containsExactly(204, 404);
+        BDDMockito.verify(animeRepositoryMock).deleteInBatch(ArgumentMatchers.anyCollection());
+    }
+
+    @Test
+    @DisplayName("bulk operations throw BadRequestException when the request has too many items")
+    void deleteAll_ThrowsBadRequestException_WhenRequestHasTooManyItems(){
+        Assertions.assertThatExceptionOfType(BadRequestException.class)
+                .isThrownBy(() -> animeBulkService.deleteAll(Collections.nCopies(4, 1L)));
+    }
+}
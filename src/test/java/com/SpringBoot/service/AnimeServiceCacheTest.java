@@ -0,0 +1,87 @@
+package com.SpringBoot.service;
+
+import com.SpringBoot.config.CacheConfig;
+import com.SpringBoot.domain.Anime;
+import com.SpringBoot.request.AnimePostRequestBody;
+import com.SpringBoot.request.AnimePutRequestBody;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+class AnimeServiceCacheTest {
+    @Autowired
+    private AnimeService animeService;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    private Cache animeById;
+    private Cache animesByName;
+
+    @BeforeEach
+    void setUp(){
+        animeById = cacheManager.getCache(CacheConfig.ANIME_BY_ID);
+        animesByName = cacheManager.getCache(CacheConfig.ANIMES_BY_NAME);
+        animeById.clear();
+        animesByName.clear();
+    }
+
+    @Test
+    @DisplayName("findByIdOrThrowBadRequestException answers a repeated lookup from the cache")
+    void findById_ReturnsCachedAnime_WhenCalledAgain(){
+        Anime saved = animeService.save(AnimePostRequestBody.builder().name("Cached by id").build());
+
+        Anime first = animeService.findByIdOrThrowBadRequestException(saved.getId());
+        Anime second = animeService.findByIdOrThrowBadRequestException(saved.getId());
+
+        Assertions.assertThat(second).isSameAs(first);
+        Assertions.assertThat(animeById.get(saved.getId())).isNotNull();
+    }
+
+    @Test
+    @DisplayName("replace evicts the cached anime and names only once its transaction commits")
+    void replace_EvictsCaches_OnlyAfterCommit(){
+        Anime saved = animeService.save(AnimePostRequestBody.builder().name("Evicted after commit").build());
+        animeService.findByIdOrThrowBadRequestException(saved.getId());
+        animeService.findByName("Evicted after commit");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            animeService.replace(AnimePutRequestBody.builder().id(saved.getId()).name("Renamed").build());
+
+            Assertions.assertThat(animeById.get(saved.getId())).isNotNull();
+            Assertions.assertThat(animesByName.get("Evicted after commit")).isNotNull();
+        });
+
+        Assertions.assertThat(animeById.get(saved.getId())).isNull();
+        Assertions.assertThat(animesByName.get("Evicted after commit")).isNull();
+        Assertions.assertThat(animeService.findByIdOrThrowBadRequestException(saved.getId()).getName()).isEqualTo("Renamed");
+    }
+
+    @Test
+    @DisplayName("replace keeps the caches when its transaction rolls back")
+    void replace_KeepsCaches_WhenRolledBack(){
+        Anime saved = animeService.save(AnimePostRequestBody.builder().name("Kept on rollback").build());
+        animeService.findByIdOrThrowBadRequestException(saved.getId());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            animeService.replace(AnimePutRequestBody.builder().id(saved.getId()).name("Never committed").build());
+            status.setRollbackOnly();
+        });
+
+        Assertions.assertThat(animeById.get(saved.getId())).isNotNull();
+        List<Anime> byName = animeService.findByName("Kept on rollback");
+        Assertions.assertThat(byName).extracting(Anime::getId).containsExactly(saved.getId());
+    }
+}
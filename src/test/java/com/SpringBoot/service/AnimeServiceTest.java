@@ -2,6 +2,12 @@ package com.SpringBoot.service;
 
 import com.SpringBoot.domain.Anime;
 import com.SpringBoot.repository.AnimeRepository;
+import com.SpringBoot.request.AnimePatchRequestBody;
+import com.SpringBoot.response.CursorPageResponse;
+import com.SpringBoot.response.SliceResponse;
+import com.SpringBoot.search.AnimeMembershipFilter;
+import com.SpringBoot.search.AnimeSearchIndex;
+import com.SpringBoot.util.AnimeCursor;
 import com.SpringBoot.util.AnimeCreator;
 import com.SpringBoot.util.AnimePostRequestBodyCreate;
 import com.SpringBoot.util.AnimePutRequestBodyCreate;
@@ -14,15 +20,21 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.BDDMockito;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import com.SpringBoot.exception.BadRequestException;
+import com.SpringBoot.exception.PreconditionFailedException;
 
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @ExtendWith(SpringExtension.class)
 class AnimeServiceTest {
@@ -30,6 +42,14 @@ class AnimeServiceTest {
     private AnimeService animeService;
     @Mock
     private AnimeRepository animeRepositoryMock;
+    @Mock
+    private EntityManager entityManagerMock;
+    @Mock
+    private AnimeCountCache animeCountCacheMock;
+    @Mock
+    private AnimeSearchIndex animeSearchIndexMock;
+    @Mock
+    private AnimeMembershipFilter animeMembershipFilterMock;
 
     @BeforeEach
     void setUp(){
@@ -37,9 +57,21 @@ class AnimeServiceTest {
         BDDMockito.when(animeRepositoryMock.findAll(ArgumentMatchers.any(PageRequest.class)))
                 .thenReturn(animePage);
 
+        BDDMockito.when(animeRepositoryMock.findAllBy(ArgumentMatchers.any(PageRequest.class)))
+                .thenReturn(new SliceImpl<>(List.of(AnimeCreator.createValidAnime()), PageRequest.of(0, 1), true));
+
+        BDDMockito.when(animeCountCacheMock.get()).thenReturn(5L);
+
+        BDDMockito.when(animeMembershipFilterMock.mightContainId(ArgumentMatchers.anyLong())).thenReturn(true);
+
+        BDDMockito.when(animeMembershipFilterMock.mightContainName(ArgumentMatchers.anyString())).thenReturn(true);
+
         BDDMockito.when(animeRepositoryMock.findAll())
                 .thenReturn(List.of(AnimeCreator.createValidAnime()));
 
+        BDDMockito.when(animeRepositoryMock.streamAll())
+                .thenAnswer(invocation -> Stream.of(AnimeCreator.createValidAnime()));
+
         BDDMockito.when(animeRepositoryMock.findById(ArgumentMatchers.anyLong()))
                 .thenReturn(Optional.of(AnimeCreator.createValidAnime()));
 
@@ -50,6 +82,12 @@ class AnimeServiceTest {
                 .thenReturn(AnimeCreator.createValidAnime());
 
         BDDMockito.doNothing().when(animeRepositoryMock).delete(ArgumentMatchers.any(Anime.class));
+
+        BDDMockito.when(animeRepositoryMock.updateName(ArgumentMatchers.anyLong(), ArgumentMatchers.anyString(),
+                ArgumentMatchers.anyString())).thenReturn(1);
+
+        BDDMockito.when(animeRepositoryMock.removeById(ArgumentMatchers.anyLong()))
+                .thenReturn(1);
     }
     @Test
     @DisplayName("listAll returns list of anime inside page object when successful")
@@ -67,6 +105,31 @@ class AnimeServiceTest {
         Assertions.assertThat(animePage.toList().get(0).getName()).isEqualTo(expectedName);
     }
 
+    @Test
+    @DisplayName("listSlice returns compact slice without total when total is not requested")
+    void listSlice_ReturnsSliceWithoutTotal_WhenTotalIsNotRequested(){
+        String expectedName = AnimeCreator.createValidAnime().getName();
+
+        SliceResponse<Anime> slice = animeService.listSlice(PageRequest.of(0, 1), false);
+
+        Assertions.assertThat(slice.getContent())
+                .isNotEmpty()
+                .hasSize(1);
+
+        Assertions.assertThat(slice.getContent().get(0).getName()).isEqualTo(expectedName);
+        Assertions.assertThat(slice.isHasNext()).isTrue();
+        Assertions.assertThat(slice.getTotalElements()).isNull();
+        BDDMockito.verify(animeCountCacheMock, Mockito.never()).get();
+    }
+
+    @Test
+    @DisplayName("listSlice returns cached total when total is requested")
+    void listSlice_ReturnsCachedTotal_WhenTotalIsRequested(){
+        SliceResponse<Anime> slice = animeService.listSlice(PageRequest.of(0, 1), true);
+
+        Assertions.assertThat(slice.getTotalElements()).isEqualTo(5L);
+    }
+
     @Test
     @DisplayName("listAllNonPageable returns list of anime when successful")
     void listAllNonPageable_ReturnsListOfAnimes_WhenSuccessful(){
@@ -82,6 +145,63 @@ class AnimeServiceTest {
         Assertions.assertThat(animes.get(0).getName()).isEqualTo(expectedName);
     }
 
+    @Test
+    @DisplayName("listByCursor returns next cursor when there are more animes after the page")
+    void listByCursor_ReturnsNextCursor_WhenThereAreMoreAnimes(){
+        Anime first = AnimeCreator.createValidAnime();
+        Anime second = AnimeCreator.createValidUpdatedAnime();
+        second.setId(2L);
+        BDDMockito.when(animeRepositoryMock.findPageAfterId(ArgumentMatchers.anyLong(), ArgumentMatchers.any()))
+                .thenReturn(List.of(first, second));
+
+        CursorPageResponse<Anime> page = animeService.listByCursor(AnimeCursor.first(AnimeCursor.Sort.ID), 1);
+
+        Assertions.assertThat(page.getContent()).containsExactly(first);
+        Assertions.assertThat(page.isHasNext()).isTrue();
+
+        AnimeCursor nextCursor = AnimeCursor.decode(page.getNextCursor());
+        Assertions.assertThat(nextCursor.getSort()).isEqualTo(AnimeCursor.Sort.ID);
+        Assertions.assertThat(nextCursor.getId()).isEqualTo(first.getId());
+    }
+
+    @Test
+    @DisplayName("listByCursor returns no cursor on the last page")
+    void listByCursor_ReturnsNoCursor_OnLastPage(){
+        Anime anime = AnimeCreator.createValidAnime();
+        BDDMockito.when(animeRepositoryMock.findPageAfterName(ArgumentMatchers.anyString(), ArgumentMatchers.anyLong(),
+                ArgumentMatchers.any())).thenReturn(List.of(anime));
+
+        CursorPageResponse<Anime> page = animeService.listByCursor(AnimeCursor.first(AnimeCursor.Sort.NAME), 10);
+
+        Assertions.assertThat(page.getContent()).containsExactly(anime);
+        Assertions.assertThat(page.isHasNext()).isFalse();
+        Assertions.assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("AnimeCursor decode throws BadRequestException when token is not a cursor")
+    void animeCursorDecode_ThrowsBadRequestException_WhenTokenIsInvalid(){
+        Assertions.assertThatExceptionOfType(BadRequestException.class)
+                .isThrownBy(() -> AnimeCursor.decode("not-a-cursor"));
+    }
+
+    @Test
+    @DisplayName("streamAll hands every anime to the consumer and detaches it when successful")
+    void streamAll_HandsEveryAnimeToConsumer_WhenSuccessful(){
+        String expectedName = AnimeCreator.createValidAnime().getName();
+        List<Anime> animes = new ArrayList<>();
+
+        animeService.streamAll(animes::add);
+
+        Assertions.assertThat(animes)
+                .isNotEmpty()
+                .hasSize(1);
+
+        Assertions.assertThat(animes.get(0).getName()).isEqualTo(expectedName);
+
+        BDDMockito.verify(entityManagerMock).detach(animes.get(0));
+    }
+
     @Test
     @DisplayName("findByIdOrThrowBadRequestException returns anime when successful")
     void findByIdOrThrowBadRequestException_ReturnsAnime_WhenSuccessful(){
@@ -104,6 +224,37 @@ class AnimeServiceTest {
                 .isThrownBy(() -> animeService.findByIdOrThrowBadRequestException(1));
     }
 
+    @Test
+    @DisplayName("findByIdOrThrowBadRequestException throws BadRequestException without a query when the filter rules the id out")
+    void findByIdOrThrowBadRequestException_SkipsQuery_WhenFilterRulesIdOut(){
+        BDDMockito.when(animeMembershipFilterMock.mightContainId(ArgumentMatchers.anyLong())).thenReturn(false);
+
+        Assertions.assertThatExceptionOfType(BadRequestException.class)
+                .isThrownBy(() -> animeService.findByIdOrThrowBadRequestException(1));
+
+        BDDMockito.verify(animeRepositoryMock, Mockito.never()).findById(ArgumentMatchers.anyLong());
+    }
+
+    @Test
+    @DisplayName("searchByName queries an escaped lower case prefix with capped page size")
+    void searchByName_QueriesEscapedLowerCasePrefixWithCappedPageSize(){
+        BDDMockito.when(animeRepositoryMock.searchByNamePrefix(ArgumentMatchers.anyString(), ArgumentMatchers.any()))
+                .thenReturn(new PageImpl<>(List.of(AnimeCreator.createValidAnime())));
+
+        Page<Anime> animes = animeService.searchByName(" Hajime_100% ", PageRequest.of(0, 1000));
+
+        Assertions.assertThat(animes.toList()).hasSize(1);
+        BDDMockito.verify(animeRepositoryMock).searchByNamePrefix(ArgumentMatchers.eq("hajime!_100!%%"),
+                ArgumentMatchers.argThat(pageable -> pageable.getPageSize() == 50));
+    }
+
+    @Test
+    @DisplayName("searchByName throws BadRequestException when name is blank")
+    void searchByName_ThrowsBadRequestException_WhenNameIsBlank(){
+        Assertions.assertThatExceptionOfType(BadRequestException.class)
+                .isThrownBy(() -> animeService.searchByName(" ", PageRequest.of(0, 10)));
+    }
+
     @Test
     @DisplayName("findByName returns a list of anime when successful")
     void findByName_ReturnsListOfAnime_WhenSuccessful(){
@@ -133,6 +284,16 @@ class AnimeServiceTest {
 
     }
 
+    @Test
+    @DisplayName("findByName returns an empty list without a query when the filter rules the name out")
+    void findByName_SkipsQuery_WhenFilterRulesNameOut(){
+        BDDMockito.when(animeMembershipFilterMock.mightContainName(ArgumentMatchers.anyString())).thenReturn(false);
+
+        Assertions.assertThat(animeService.findByName("anime")).isEmpty();
+
+        BDDMockito.verify(animeRepositoryMock, Mockito.never()).findByName(ArgumentMatchers.anyString());
+    }
+
     @Test
     @DisplayName("save returns anime when successful")
     void save_ReturnsAnime_WhenSuccessful(){
@@ -152,6 +313,59 @@ class AnimeServiceTest {
 
     }
 
+    @Test
+    @DisplayName("replace throws BadRequestException when anime is not found")
+    void replace_ThrowsBadRequestException_WhenAnimeIsNotFound(){
+        BDDMockito.when(animeRepositoryMock.updateName(ArgumentMatchers.anyLong(), ArgumentMatchers.anyString(),
+                ArgumentMatchers.anyString())).thenReturn(0);
+
+        Assertions.assertThatExceptionOfType(BadRequestException.class)
+                .isThrownBy(() -> animeService.replace(AnimePutRequestBodyCreate.createAnimeToBeUpdate()));
+    }
+
+    @Test
+    @DisplayName("replace throws PreconditionFailedException when the expected version is stale")
+    void replace_ThrowsPreconditionFailedException_WhenExpectedVersionIsStale(){
+        BDDMockito.when(animeRepositoryMock.updateNameIfVersion(ArgumentMatchers.anyLong(), ArgumentMatchers.anyLong(),
+                ArgumentMatchers.anyString(), ArgumentMatchers.anyString())).thenReturn(0);
+        BDDMockito.when(animeRepositoryMock.existsById(ArgumentMatchers.anyLong()))
+                .thenReturn(true);
+
+        Assertions.assertThatExceptionOfType(PreconditionFailedException.class)
+                .isThrownBy(() -> animeService.replace(AnimePutRequestBodyCreate.createAnimeToBeUpdate(), 2L));
+    }
+
+    @Test
+    @DisplayName("patch updates only the name with a single statement when successful")
+    void patch_UpdatesName_WhenSuccessful(){
+        animeService.patch(1L, AnimePatchRequestBody.builder().name("Overlord").build(), null);
+
+        BDDMockito.verify(animeRepositoryMock).updateName(1L, "Overlord", "overlord");
+        BDDMockito.verify(animeRepositoryMock, Mockito.never()).findById(ArgumentMatchers.anyLong());
+    }
+
+    @Test
+    @DisplayName("patch throws PreconditionFailedException when name is absent and the expected version is stale")
+    void patch_ThrowsPreconditionFailedException_WhenNameIsAbsentAndExpectedVersionIsStale(){
+        BDDMockito.when(animeRepositoryMock.findVersionById(ArgumentMatchers.anyLong()))
+                .thenReturn(Optional.of(3L));
+
+        Assertions.assertThatExceptionOfType(PreconditionFailedException.class)
+                .isThrownBy(() -> animeService.patch(1L, AnimePatchRequestBody.builder().build(), 2L));
+    }
+
+    @Test
+    @DisplayName("patch does nothing when name is absent and the expected version matches")
+    void patch_DoesNothing_WhenNameIsAbsentAndExpectedVersionMatches(){
+        BDDMockito.when(animeRepositoryMock.findVersionById(ArgumentMatchers.anyLong()))
+                .thenReturn(Optional.of(2L));
+
+        Assertions.assertThatCode(() -> animeService.patch(1L, AnimePatchRequestBody.builder().build(), 2L))
+                .doesNotThrowAnyException();
+        BDDMockito.verify(animeRepositoryMock, Mockito.never())
+                .updateName(ArgumentMatchers.anyLong(), ArgumentMatchers.anyString(), ArgumentMatchers.anyString());
+    }
+
     @Test
     @DisplayName("delete removes anime when successful")
     void delete_RemovesAnime_WhenSuccessful(){
@@ -160,4 +374,14 @@ class AnimeServiceTest {
                 .doesNotThrowAnyException();
 
     }
+
+    @Test
+    @DisplayName("delete throws BadRequestException when anime is not found")
+    void delete_ThrowsBadRequestException_WhenAnimeIsNotFound(){
+        BDDMockito.when(animeRepositoryMock.removeById(ArgumentMatchers.anyLong()))
+                .thenReturn(0);
+
+        Assertions.assertThatExceptionOfType(BadRequestException.class)
+                .isThrownBy(() -> animeService.delete(1));
+    }
 }
\ No newline at end of file
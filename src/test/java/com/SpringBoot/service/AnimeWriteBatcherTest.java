@@ -0,0 +1,162 @@
+package com.SpringBoot.service;
+
+import com.SpringBoot.datasource.ReadYourWrites;
+import com.SpringBoot.domain.Anime;
+import com.SpringBoot.exception.BadRequestException;
+import com.SpringBoot.request.AnimePostRequestBody;
+import com.SpringBoot.util.AnimePostRequestBodyCreate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@ExtendWith(SpringExtension.class)
+class AnimeWriteBatcherTest {
+    private static final int BATCH_SIZE = 3;
+
+    @Mock
+    private AnimeService animeServiceMock;
+    @Mock
+    private PlatformTransactionManager transactionManagerMock;
+    @Mock
+    private ObjectProvider<ReadYourWrites> readYourWritesMock;
+    private AnimeWriteBatcher animeWriteBatcher;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp(){
+        BDDMockito.when(transactionManagerMock.getTransaction(ArgumentMatchers.any()))
+                .thenAnswer(invocation -> new SimpleTransactionStatus());
+        BDDMockito.when(animeServiceMock.save(ArgumentMatchers.any(AnimePostRequestBody.class)))
+                .thenAnswer(invocation -> Anime.builder()
+                        .name(invocation.<AnimePostRequestBody>getArgument(0).getName())
+                        .build());
+        callers = Executors.newFixedThreadPool(BATCH_SIZE);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        callers.shutdownNow();
+        if (animeWriteBatcher != null) {
+            animeWriteBatcher.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("save commits concurrent saves in one transaction and hands each caller its own anime")
+    void save_CommitsConcurrentSavesTogether() throws Exception {
+        animeWriteBatcher = batcher(true);
+
+        List<Future<Anime>> results = saveConcurrently("Hajime no Ippo", "Samurai X", "Pokemon");
+
+        Assertions.assertThat(results.get(0).get(5, TimeUnit.SECONDS).getName()).isEqualTo("Hajime no Ippo");
+        Assertions.assertThat(results.get(1).get(5, TimeUnit.SECONDS).getName()).isEqualTo("Samurai X");
+        Assertions.assertThat(results.get(2).get(5, TimeUnit.SECONDS).getName()).isEqualTo("Pokemon");
+        BDDMockito.verify(transactionManagerMock).commit(ArgumentMatchers.any());
+        BDDMockito.verify(readYourWritesMock, Mockito.times(BATCH_SIZE)).ifAvailable(ArgumentMatchers.any());
+    }
+
+    @Test
+    @DisplayName("save fails only the caller whose anime broke the batch")
+    void save_FailsOnlyTheBrokenSave_WhenBatchRollsBack() throws Exception {
+        BDDMockito.when(animeServiceMock.save(ArgumentMatchers.argThat(body -> body != null && "Broken".equals(body.getName()))))
+                .thenThrow(new BadRequestException("Broken anime"));
+        animeWriteBatcher = batcher(true);
+
+        List<Future<Anime>> results = saveConcurrently("Hajime no Ippo", "Broken", "Pokemon");
+
+        Assertions.assertThat(results.get(0).get(5, TimeUnit.SECONDS).getName()).isEqualTo("Hajime no Ippo");
+        Assertions.assertThatThrownBy(() -> results.get(1).get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(BadRequestException.class);
+        Assertions.assertThat(results.get(2).get(5, TimeUnit.SECONDS).getName()).isEqualTo("Pokemon");
+    }
+
+    @Test
+    @DisplayName("save rejects work when batching is disabled")
+    void save_ThrowsRejectedExecutionException_WhenDisabled(){
+        animeWriteBatcher = batcher(false);
+
+        Assertions.assertThat(animeWriteBatcher.isEnabled()).isFalse();
+        Assertions.assertThatExceptionOfType(RejectedExecutionException.class)
+                .isThrownBy(() -> animeWriteBatcher.save(AnimePostRequestBodyCreate.createAnimeToBeSaved()));
+    }
+
+    @Test
+    @DisplayName("save fails the caller and keeps the flusher running when a save throws an Error")
+    void save_KeepsFlusherRunning_WhenSaveThrowsError() {
+        BDDMockito.when(animeServiceMock.save(ArgumentMatchers.argThat(body -> body != null && "Fatal".equals(body.getName()))))
+                .thenThrow(new Error("Fatal anime"));
+        animeWriteBatcher = batcher(true, 1, Duration.ofSeconds(5));
+
+        Assertions.assertThatThrownBy(() -> animeWriteBatcher.save(AnimePostRequestBody.builder().name("Fatal").build()))
+                .hasRootCauseInstanceOf(Error.class);
+        Assertions.assertThatCode(() -> animeWriteBatcher.save(AnimePostRequestBody.builder().name("Pokemon").build()))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("save throws TimeoutException when its batch does not commit in time")
+    void save_ThrowsTimeoutException_WhenBatchIsTooSlow() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        BDDMockito.when(animeServiceMock.save(ArgumentMatchers.any(AnimePostRequestBody.class)))
+                .thenAnswer(invocation -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    return Anime.builder().name("Slow").build();
+                });
+        animeWriteBatcher = batcher(true, 1, Duration.ofMillis(100));
+
+        Assertions.assertThatExceptionOfType(TimeoutException.class)
+                .isThrownBy(() -> animeWriteBatcher.save(AnimePostRequestBody.builder().name("Slow").build()));
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("save rejects work once the batcher is shut down")
+    void save_ThrowsRejectedExecutionException_AfterDestroy() throws InterruptedException {
+        animeWriteBatcher = batcher(true);
+        animeWriteBatcher.destroy();
+
+        Assertions.assertThatExceptionOfType(RejectedExecutionException.class)
+                .isThrownBy(() -> animeWriteBatcher.save(AnimePostRequestBodyCreate.createAnimeToBeSaved()));
+    }
+
+    // A long max-delay keeps the flusher waiting until the batch is full, so all three land in one transaction
+    private AnimeWriteBatcher batcher(boolean enabled) {
+        return batcher(enabled, BATCH_SIZE, Duration.ofSeconds(30));
+    }
+
+    private AnimeWriteBatcher batcher(boolean enabled, int maxBatchSize, Duration timeout) {
+        return new AnimeWriteBatcher(animeServiceMock, transactionManagerMock, readYourWritesMock, new SimpleMeterRegistry(),
+                enabled, 10, maxBatchSize, Duration.ofSeconds(30), timeout);
+    }
+
+    private List<Future<Anime>> saveConcurrently(String... names) {
+        List<Future<Anime>> results = new ArrayList<>();
+        for (String name : names) {
+            results.add(callers.submit(() -> animeWriteBatcher.save(AnimePostRequestBody.builder().name(name).build())));
+        }
+        return results;
+    }
+}
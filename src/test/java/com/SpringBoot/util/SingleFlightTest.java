@@ -0,0 +1,118 @@
+package com.SpringBoot.util;
+
+import com.SpringBoot.exception.BadRequestException;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class SingleFlightTest {
+    private static final int CALLERS = 8;
+
+    private SingleFlight<Long> singleFlight;
+    private ExecutorService executor;
+    private CountDownLatch release;
+    private CountDownLatch joined;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp(){
+        singleFlight = new SingleFlight<>();
+        executor = Executors.newFixedThreadPool(CALLERS);
+        release = new CountDownLatch(1);
+        joined = new CountDownLatch(CALLERS - 1);
+        calls = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown(){
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("execute runs concurrent calls for the same key once and hands every caller the result")
+    void execute_SharesOneCallBetweenConcurrentCallers() throws Exception {
+        List<Future<String>> results = submitAll(() -> {
+            calls.incrementAndGet();
+            release.await();
+            return "Hajime no Ippo";
+        });
+
+        Assertions.assertThat(joined.await(5, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+
+        for (Future<String> result : results) {
+            Assertions.assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("Hajime no Ippo");
+        }
+        Assertions.assertThat(calls).hasValue(1);
+        Assertions.assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("execute hands the failure of the shared call to every caller")
+    void execute_PropagatesFailureToEveryCaller() throws Exception {
+        List<Future<String>> results = submitAll(() -> {
+            calls.incrementAndGet();
+            release.await();
+            throw new BadRequestException("Anime not Found");
+        });
+
+        Assertions.assertThat(joined.await(5, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+
+        for (Future<String> result : results) {
+            Assertions.assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(BadRequestException.class);
+        }
+        Assertions.assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("execute runs the call again once the previous one has returned")
+    void execute_RunsAgain_AfterPreviousCallReturned() throws Throwable {
+        singleFlight.execute(1L, calls::incrementAndGet);
+        singleFlight.execute(1L, calls::incrementAndGet);
+
+        Assertions.assertThat(calls).hasValue(2);
+    }
+
+    // The leader is submitted first and blocks on release, so the others can only join its flight
+    private List<Future<String>> submitAll(SingleFlight.Call<String> call) throws InterruptedException {
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> {
+            try {
+                return singleFlight.execute(1L, call);
+            } catch (Throwable e) {
+                throw sneaky(e);
+            }
+        }));
+        while (singleFlight.inFlight() == 0) {
+            Thread.sleep(1);
+        }
+        for (int i = 1; i < CALLERS; i++) {
+            results.add(executor.submit(() -> {
+                try {
+                    return singleFlight.execute(1L, call, joined::countDown);
+                } catch (Throwable e) {
+                    throw sneaky(e);
+                }
+            }));
+        }
+        return results;
+    }
+
+    private static Exception sneaky(Throwable e) {
+        return e instanceof Exception ? (Exception) e : new RuntimeException(e);
+    }
+}